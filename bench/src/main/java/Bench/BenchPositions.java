@@ -0,0 +1,25 @@
+package Bench;
+
+import Model.ChessBoard;
+import Model.Fen;
+
+// The fixed position set all benchmarks run on, from opening to endgame
+final class BenchPositions {
+    static final String START = "start";
+    static final String KIWIPETE = "kiwipete";
+    static final String MIDDLEGAME = "middlegame";
+    static final String ENDGAME = "endgame";
+
+    private BenchPositions() {
+    }
+
+    static ChessBoard board(String name) {
+        switch (name) {
+            case START: return Fen.parse(Fen.START_POSITION);
+            case KIWIPETE: return Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+            case MIDDLEGAME: return Fen.parse("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+            case ENDGAME: return Fen.parse("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+            default: throw new IllegalArgumentException("Unknown position " + name);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package Bench;
+
+import AI.BoardEvaluator;
+import AI.EvalCache;
+import AI.PawnHashTable;
+import Model.ChessBoard;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Static evaluation, computed from scratch and through the caches the search uses
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+    @Param({BenchPositions.START, BenchPositions.KIWIPETE, BenchPositions.MIDDLEGAME, BenchPositions.ENDGAME})
+    public String position;
+
+    private ChessBoard board;
+    private final BoardEvaluator uncached = new BoardEvaluator();
+    private final BoardEvaluator cached = new BoardEvaluator(new EvalCache(4), new PawnHashTable(1));
+
+    @Setup
+    public void setUp() {
+        board = BenchPositions.board(position);
+    }
+
+    @Benchmark
+    public int evaluate() {
+        return uncached.evaluate(board, board.isWhiteToMove());
+    }
+
+    @Benchmark
+    public int evaluateCached() {
+        return cached.evaluate(board, board.isWhiteToMove());
+    }
+}
@@ -0,0 +1,62 @@
+package Bench;
+
+import Model.ChessBoard;
+import Model.Fen;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// FEN parsing into a reused board and writing back out; run with -prof gc to check that neither allocates
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FenBenchmark {
+    @Param({BenchPositions.START, BenchPositions.KIWIPETE, BenchPositions.MIDDLEGAME, BenchPositions.ENDGAME})
+    public String position;
+
+    private final ChessBoard board = new ChessBoard();
+    private final StringBuilder text = new StringBuilder(128);
+    private String fen;
+    private ByteBuffer bytes;
+
+    @Setup
+    public void setUp() {
+        fen = Fen.toFen(BenchPositions.board(position));
+        bytes = ByteBuffer.wrap((fen + "\n").getBytes(StandardCharsets.US_ASCII));
+        // write() serializes whatever the board holds, so it must hold the position under test from the start
+        Fen.load(board, fen);
+    }
+
+    @Benchmark
+    public long loadString() {
+        Fen.load(board, fen);
+        return board.getZobristKey();
+    }
+
+    @Benchmark
+    public long loadByteBuffer() {
+        bytes.rewind();
+        Fen.load(board, bytes);
+        return board.getZobristKey();
+    }
+
+    @Benchmark
+    public int write() {
+        text.setLength(0);
+        return Fen.write(board, text).length();
+    }
+}
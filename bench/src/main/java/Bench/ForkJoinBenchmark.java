@@ -0,0 +1,66 @@
+package Bench;
+
+import AI.ChessAI;
+import AI.ParallelSearch;
+import AI.SearchLimits;
+import Model.ChessBoard;
+import Model.Move;
+
+// Fork/join search against the single-threaded ChessAI on the SmpBenchmark positions, at a fixed depth.
+// Usage: java -cp bench/target/benchmarks.jar Bench.ForkJoinBenchmark [depth] [threads]
+public class ForkJoinBenchmark {
+    private ForkJoinBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String[] results = new String[SmpBenchmark.POSITIONS.length];
+
+        // Warm up both searches once, so that the first measurement does not include JIT compilation
+        ChessBoard warmUp = SmpBenchmark.playMoves(SmpBenchmark.POSITIONS[0]);
+        ChessAI serialWarmUp = new ChessAI(depth);
+        serialWarmUp.setSearchListener(SearchBenchmark::ignoreIteration);
+        serialWarmUp.findBestMove(warmUp, warmUp.isWhiteToMove(), SearchLimits.depth(depth));
+        ParallelSearch parallelWarmUp = newParallelSearch(threads);
+        parallelWarmUp.findBestMove(warmUp, warmUp.isWhiteToMove(), depth);
+        parallelWarmUp.shutdown();
+
+        long serialTotal = 0;
+        long parallelTotal = 0;
+        for (int i = 0; i < SmpBenchmark.POSITIONS.length; i++) {
+            ChessBoard board = SmpBenchmark.playMoves(SmpBenchmark.POSITIONS[i]);
+
+            // Both sides start every position from a new searcher
+            ChessAI serial = new ChessAI(depth);
+            serial.setSearchListener(SearchBenchmark::ignoreIteration);
+            long start = System.nanoTime();
+            Move serialMove = serial.findBestMove(board, board.isWhiteToMove(), SearchLimits.depth(depth));
+            long serialTime = System.nanoTime() - start;
+
+            ParallelSearch parallelSearch = newParallelSearch(threads);
+            start = System.nanoTime();
+            Move parallelMove = parallelSearch.findBestMove(board, board.isWhiteToMove(), depth);
+            long parallelTime = System.nanoTime() - start;
+
+            serialTotal += serialTime;
+            parallelTotal += parallelTime;
+            results[i] = String.format("%8d %10d %9d %10d %9d  %s", i + 1, serialTime / 1_000_000, serial.getNodes(),
+                    parallelTime / 1_000_000, parallelSearch.getNodes(), serialMove != null && serialMove.equals(parallelMove) ? "same" : "differs");
+            parallelSearch.shutdown();
+        }
+
+        System.out.println();
+        System.out.println("position  serial ms  s. nodes  forkjoin ms  fj. nodes  best move");
+        for (String result : results) {
+            System.out.println(result);
+        }
+        System.out.printf("speedup with %d threads: %.2f%n", threads, (double) serialTotal / parallelTotal);
+    }
+
+    private static ParallelSearch newParallelSearch(int threads) {
+        ParallelSearch parallelSearch = new ParallelSearch(threads);
+        parallelSearch.setSearchListener(SearchBenchmark::ignoreIteration);
+        return parallelSearch;
+    }
+}
@@ -0,0 +1,101 @@
+package Bench;
+
+import Model.ChessBoard;
+import Model.Move;
+import Model.PackedMove;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Move generation and the board primitives the search calls at every node. Operations that walk a move list
+// process all legal moves of the position once.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+    @Param({BenchPositions.START, BenchPositions.KIWIPETE, BenchPositions.MIDDLEGAME, BenchPositions.ENDGAME})
+    public String position;
+
+    private ChessBoard board;
+    private boolean isWhite;
+    private final int[] moveBuffer = new int[ChessBoard.MAX_MOVES];
+    private int[] legalMoves;
+    private List<Move> legalMoveList;
+
+    @Setup
+    public void setUp() {
+        board = BenchPositions.board(position);
+        isWhite = board.isWhiteToMove();
+        int count = board.generateMoves(isWhite, moveBuffer);
+        legalMoves = Arrays.copyOf(moveBuffer, count);
+        legalMoveList = board.getAllPossibleMoves(isWhite);
+    }
+
+    @Benchmark
+    public List<Move> getAllPossibleMoves() {
+        return board.getAllPossibleMoves(isWhite);
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        return board.generateMoves(isWhite, moveBuffer);
+    }
+
+    @Benchmark
+    public void isValidMove(Blackhole blackhole) {
+        for (Move move : legalMoveList) {
+            blackhole.consume(board.isValidMove(move.getStartX(), move.getStartY(), move.getEndX(), move.getEndY()));
+        }
+    }
+
+    @Benchmark
+    public boolean isKingInCheck() {
+        return board.isKingInCheck(isWhite);
+    }
+
+    @Benchmark
+    public long makeUnmakeMove() {
+        long keys = 0;
+        for (int move : legalMoves) {
+            board.makeMove(move);
+            keys ^= board.getZobristKey();
+            board.unmakeMove(move);
+        }
+        return keys;
+    }
+
+    @Benchmark
+    public long applyUndoMove() {
+        long keys = 0;
+        for (Move move : legalMoveList) {
+            board.applyMove(move);
+            keys ^= board.getZobristKey();
+            board.undoMove(move);
+        }
+        return keys;
+    }
+
+    @Benchmark
+    public int packedMoveRoundTrip() {
+        int sum = 0;
+        for (int move : legalMoves) {
+            sum += Move.fromPacked(move).toPacked() ^ PackedMove.to(move);
+        }
+        return sum;
+    }
+}
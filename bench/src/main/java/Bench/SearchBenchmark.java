@@ -0,0 +1,61 @@
+package Bench;
+
+import AI.ChessAI;
+import AI.SearchLimits;
+import AI.TranspositionTable;
+import Model.ChessBoard;
+import Model.Move;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Fixed-depth single-threaded searches. Every search starts from an empty transposition table, fresh move ordering
+// tables and empty evaluation caches, so that the iterations measure the same work. The engine and its tables are
+// allocated once per trial and only cleared between searches.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({BenchPositions.START, BenchPositions.KIWIPETE, BenchPositions.MIDDLEGAME, BenchPositions.ENDGAME})
+    public String position;
+
+    @Param({"6"})
+    public int depth;
+
+    private ChessBoard board;
+    private ChessAI ai;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = BenchPositions.board(position);
+        ai = new ChessAI(depth, new TranspositionTable(16));
+        ai.setUseOpeningBook(false);
+        ai.setSearchListener(SearchBenchmark::ignoreIteration); // Printing the iterations would be timed too
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        ai.clear();
+    }
+
+    static void ignoreIteration(int depth, int score, long nodes, long elapsedMillis, int[] pv) {
+    }
+
+    @Benchmark
+    public Move findBestMove() {
+        return ai.findBestMove(board, board.isWhiteToMove(), SearchLimits.depth(depth));
+    }
+}
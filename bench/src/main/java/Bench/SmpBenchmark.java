@@ -0,0 +1,70 @@
+package Bench;
+
+import AI.ChessAI;
+import AI.SearchLimits;
+import AI.TranspositionTable;
+import Model.ChessBoard;
+
+// Time-to-depth of the Lazy SMP search at 1, 2, 4, 8 and 16 threads.
+// Usage: java -cp bench/target/benchmarks.jar Bench.SmpBenchmark [depth] [hashMb]
+public class SmpBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+
+    // Openings in coordinate notation, all out of the built-in opening book so that the search runs
+    static final String[] POSITIONS = {
+            "d2d4 d7d5 c2c4 e7e6 b1c3 g8f6 c1g5 f8e7",
+            "d2d4 g8f6 c2c4 g7g6 b1c3 f8g7 e2e4 d7d6 g1f3 e8g8",
+            "e2e4 e7e6 d2d4 d7d5 b1c3 g8f6 c1g5 f8e7 e4e5 f6d7",
+            "e2e4 d7d5 e4d5 d8d5 b1c3 d5a5 d2d4 g8f6 g1f3 c8f5",
+    };
+
+    private SmpBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int hashMb = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        long[] times = new long[THREAD_COUNTS.length];
+        long[] nodes = new long[THREAD_COUNTS.length];
+
+        // One untimed single-threaded pass first, so that the first measurement does not include JIT compilation
+        runPositions(depth, hashMb, 1, new long[1]);
+        for (int t = 0; t < THREAD_COUNTS.length; t++) {
+            long[] nodeCount = new long[1];
+            times[t] = runPositions(depth, hashMb, THREAD_COUNTS[t], nodeCount);
+            nodes[t] = nodeCount[0];
+        }
+
+        System.out.println();
+        System.out.println("threads    time ms     nodes  speedup");
+        for (int t = 0; t < THREAD_COUNTS.length; t++) {
+            System.out.printf("%7d %10d %9d %8.2f%n", THREAD_COUNTS[t], times[t] / 1_000_000, nodes[t], (double) times[0] / times[t]);
+        }
+    }
+
+    // Total search time in nanoseconds over all positions; the node count is returned through nodeCount
+    private static long runPositions(int depth, int hashMb, int threads, long[] nodeCount) {
+        long time = 0;
+        for (String position : POSITIONS) {
+            ChessBoard board = playMoves(position);
+            // A fresh table per run, so that no run profits from an earlier one
+            ChessAI ai = new ChessAI(depth, new TranspositionTable(hashMb));
+            ai.setThreads(threads);
+            ai.setSearchListener(SearchBenchmark::ignoreIteration);
+            long start = System.nanoTime();
+            ai.findBestMove(board, board.isWhiteToMove(), SearchLimits.depth(depth));
+            time += System.nanoTime() - start;
+            nodeCount[0] += ai.getNodes();
+        }
+        return time;
+    }
+
+    static ChessBoard playMoves(String moves) {
+        ChessBoard board = new ChessBoard();
+        for (String move : moves.split(" ")) {
+            // Files map to x, ranks to y with rank 8 on row 0
+            board.movePiece(move.charAt(0) - 'a', '8' - move.charAt(1), move.charAt(2) - 'a', '8' - move.charAt(3));
+        }
+        return board;
+    }
+}
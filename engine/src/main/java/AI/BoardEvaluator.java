@@ -0,0 +1,214 @@
+package AI;
+
+import Model.Bitboards;
+import Model.ChessBoard;
+import Model.ChessPiece;
+import Model.PieceSquareTables;
+
+public class BoardEvaluator {
+    // All scores are in centipawns
+    private static final int CASTLING_COMPLETED_BONUS = 50;
+
+    private static final int CHECK_BONUS = 50;
+    // The castling bonus depends on flags the Zobrist key does not cover, so they are mixed into the cache key
+    private static final long WHITE_CASTLED_KEY = 0x6A09E667F3BCC909L;
+    private static final long BLACK_CASTLED_KEY = 0xBB67AE8584CAA73BL;
+
+    // Pawn structure, in centipawns per pawn; passed pawns by how far they have advanced
+    private static final int DOUBLED_MIDGAME = 10, DOUBLED_ENDGAME = 20;
+    private static final int ISOLATED_MIDGAME = 10, ISOLATED_ENDGAME = 15;
+    private static final int BACKWARD_MIDGAME = 8, BACKWARD_ENDGAME = 10;
+    private static final int[] PASSED_MIDGAME = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_ENDGAME = {0, 10, 20, 35, 55, 80, 110, 0};
+    // Middlegame bonus for each pawn in front of a king on its back two ranks, directly ahead or one rank further
+    private static final int SHIELD_CLOSE = 10, SHIELD_FAR = 5;
+
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    // [0] white, [1] black: enemy pawns that can block or capture a pawn on its way, i.e. ahead on its own and adjacent files
+    private static final long[][] PASSED_MASKS = new long[2][64];
+    // Own pawns that could still defend a pawn: on the adjacent files, level with it or behind
+    private static final long[][] SUPPORT_MASKS = new long[2][64];
+
+    static {
+        for (int col = 0; col < 8; col++) {
+            FILES[col] = Bitboards.FILE_A << col;
+        }
+        for (int col = 0; col < 8; col++) {
+            ADJACENT_FILES[col] = (col > 0 ? FILES[col - 1] : 0L) | (col < 7 ? FILES[col + 1] : 0L);
+        }
+        for (int square = 0; square < 64; square++) {
+            int row = Bitboards.row(square), col = Bitboards.col(square);
+            for (int r = 0; r < 8; r++) {
+                long rowMask = Bitboards.RANK_8 << (8 * r);
+                long spanFiles = FILES[col] | ADJACENT_FILES[col];
+                // White pawns advance towards row 0, black pawns towards row 7
+                if (r < row) {
+                    PASSED_MASKS[0][square] |= rowMask & spanFiles;
+                } else {
+                    SUPPORT_MASKS[0][square] |= rowMask & ADJACENT_FILES[col];
+                }
+                if (r > row) {
+                    PASSED_MASKS[1][square] |= rowMask & spanFiles;
+                } else {
+                    SUPPORT_MASKS[1][square] |= rowMask & ADJACENT_FILES[col];
+                }
+            }
+        }
+    }
+
+    private final EvalCache evalCache;
+    private final PawnHashTable pawnHashTable;
+
+    public BoardEvaluator() {
+        this(null, null);
+    }
+
+    // The caches may be shared between evaluators on several search threads; null disables caching
+    public BoardEvaluator(EvalCache evalCache, PawnHashTable pawnHashTable) {
+        this.evalCache = evalCache;
+        this.pawnHashTable = pawnHashTable;
+    }
+
+    public EvalCache getEvalCache() { return evalCache; }
+    public PawnHashTable getPawnHashTable() { return pawnHashTable; }
+
+    // Other methods...
+
+    public int evaluate(ChessBoard board, boolean isWhiteToMove) {
+        if (evalCache == null) {
+            return computeEvaluation(board);
+        }
+        long key = board.getZobristKey() ^ (board.hasWhiteCastled() ? WHITE_CASTLED_KEY : 0L) ^ (board.hasBlackCastled() ? BLACK_CASTLED_KEY : 0L);
+        int evaluation = evalCache.probe(key);
+        if (evaluation == EvalCache.NO_SCORE) {
+            evaluation = computeEvaluation(board);
+            evalCache.store(key, evaluation);
+        }
+        return evaluation;
+    }
+
+    private int computeEvaluation(ChessBoard board) {
+        // Material and piece-square values are kept up to date by the board, pawn structure comes from the pawn hash
+        long pawnStructure = probePawnStructure(board);
+        int midgame = board.getMidgameScore() + PawnHashTable.midgame(pawnStructure)
+                + evaluatePawnShield(board, true) - evaluatePawnShield(board, false);
+        int endgame = board.getEndgameScore() + PawnHashTable.endgame(pawnStructure);
+
+        // Blended by game phase
+        int phase = Math.min(board.getPhase(), PieceSquareTables.TOTAL_PHASE);
+        int evaluation = (midgame * phase + endgame * (PieceSquareTables.TOTAL_PHASE - phase)) / PieceSquareTables.TOTAL_PHASE;
+
+        // Add positional evaluation
+        evaluation += evaluatePositionalFactors(board, true);
+        evaluation -= evaluatePositionalFactors(board, false);
+
+        // Evaluate check scenarios; checkmate and stalemate are found by the search
+        if (board.isKingInCheck(false)) {  // Checking if black king is in check
+            evaluation += CHECK_BONUS;
+        }
+        if (board.isKingInCheck(true)) {  // Checking if white king is in check
+            evaluation -= CHECK_BONUS;
+        }
+
+        //int perspective = isWhiteToMove ? 1 : -1;
+
+        return evaluation;
+    }
+
+    private int evaluatePositionalFactors(ChessBoard board, boolean isWhite) {
+        int score = 0;
+
+        // Reward for completing castling
+        if (isWhite && board.hasWhiteCastled() || !isWhite && board.hasBlackCastled()) {
+            score += CASTLING_COMPLETED_BONUS;
+        }
+
+        // Rest of your positional evaluation logic...
+
+        return score;
+    }
+
+    private long probePawnStructure(ChessBoard board) {
+        if (pawnHashTable == null) {
+            return evaluatePawnStructure(board);
+        }
+        long data = pawnHashTable.probe(board.getPawnKey());
+        if (data == 0) {
+            data = evaluatePawnStructure(board);
+            pawnHashTable.store(board.getPawnKey(), data);
+        }
+        return data;
+    }
+
+    // Doubled, isolated, backward and passed pawns of both sides, white-relative, packed as in PawnHashTable
+    private long evaluatePawnStructure(ChessBoard board) {
+        int midgame = 0;
+        int endgame = 0;
+        for (int side = 0; side < 2; side++) {
+            boolean isWhite = side == 0;
+            int sign = isWhite ? 1 : -1;
+            long ownPawns = board.getBitboard(isWhite ? ChessPiece.WHITE_PAWN : ChessPiece.BLACK_PAWN);
+            long enemyPawns = board.getBitboard(isWhite ? ChessPiece.BLACK_PAWN : ChessPiece.WHITE_PAWN);
+            long enemyAttacks = pawnAttacks(!isWhite, enemyPawns);
+
+            for (int col = 0; col < 8; col++) {
+                int count = Long.bitCount(ownPawns & FILES[col]);
+                if (count > 1) {
+                    midgame -= sign * DOUBLED_MIDGAME * (count - 1);
+                    endgame -= sign * DOUBLED_ENDGAME * (count - 1);
+                }
+            }
+
+            for (long pawns = ownPawns; pawns != 0; pawns &= pawns - 1) {
+                int square = Bitboards.lowestSquare(pawns);
+                int col = Bitboards.col(square);
+                if ((ownPawns & ADJACENT_FILES[col]) == 0) {
+                    midgame -= sign * ISOLATED_MIDGAME;
+                    endgame -= sign * ISOLATED_ENDGAME;
+                } else if ((ownPawns & SUPPORT_MASKS[side][square]) == 0
+                        && (enemyAttacks & Bitboards.bit(isWhite ? square - 8 : square + 8)) != 0) {
+                    // No pawn can come to its defence, and it cannot advance without being taken
+                    midgame -= sign * BACKWARD_MIDGAME;
+                    endgame -= sign * BACKWARD_ENDGAME;
+                }
+                if ((enemyPawns & PASSED_MASKS[side][square]) == 0) {
+                    int rank = isWhite ? 7 - Bitboards.row(square) : Bitboards.row(square);
+                    midgame += sign * PASSED_MIDGAME[rank];
+                    endgame += sign * PASSED_ENDGAME[rank];
+                }
+            }
+        }
+        return PawnHashTable.pack(midgame, endgame);
+    }
+
+    // All squares attacked by a set of pawns
+    private static long pawnAttacks(boolean isWhite, long pawns) {
+        if (isWhite) {
+            return (pawns >>> 9 & ~Bitboards.FILE_H) | (pawns >>> 7 & ~Bitboards.FILE_A);
+        }
+        return (pawns << 7 & ~Bitboards.FILE_H) | (pawns << 9 & ~Bitboards.FILE_A);
+    }
+
+    // Depends on the king square as well, so it is not part of the pawn hash
+    private int evaluatePawnShield(ChessBoard board, boolean isWhite) {
+        long king = board.getBitboard(isWhite ? ChessPiece.WHITE_KING : ChessPiece.BLACK_KING);
+        if (king == 0) {
+            return 0;
+        }
+        int kingSquare = Bitboards.lowestSquare(king);
+        int row = Bitboards.row(kingSquare);
+        if (isWhite ? row < 6 : row > 1) {
+            return 0;
+        }
+        long shield = board.getBitboard(isWhite ? ChessPiece.WHITE_PAWN : ChessPiece.BLACK_PAWN)
+                & (FILES[Bitboards.col(kingSquare)] | ADJACENT_FILES[Bitboards.col(kingSquare)]);
+        int forward = isWhite ? -1 : 1;
+        return SHIELD_CLOSE * Long.bitCount(shield & Bitboards.RANK_8 << (8 * (row + forward)))
+                + SHIELD_FAR * Long.bitCount(shield & Bitboards.RANK_8 << (8 * (row + 2 * forward)));
+    }
+
+    int getValueOfPiece(ChessPiece piece) {
+        return PieceSquareTables.materialValue(piece);
+    }
+}
@@ -0,0 +1,728 @@
+package AI;
+import Model.ChessBoard;
+import Model.Move;
+import Model.PackedMove;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+
+public class ChessAI {
+
+    private static final int MAX_PLY = 64;
+    // Search window bounds; small enough that scores always fit the transposition table
+    private static final int INFINITY = 30000;
+    // Score for mate at the root; a mate n plies away scores MATE - n, so anything beyond MATE_BOUND is a mate score
+    private static final int MATE = 29000;
+    private static final int MATE_BOUND = MATE - MAX_PLY;
+    private static final int DEFAULT_HASH_MB = 32;
+    private static final int DEFAULT_EVAL_CACHE_MB = 4;
+    private static final int DEFAULT_PAWN_HASH_MB = 1;
+    private static final SearchLimits NO_LIMITS = new SearchLimits(0, 0, 0);
+    // Safety margin for delta pruning in the quiescence search, in centipawns
+    private static final int DELTA_MARGIN = 200;
+    // Selective search: null moves from this depth on, late move reductions from this depth and move number on
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_MIN_MOVE = 3;
+    // Half width of the first aspiration window, and the depth from which the root uses one
+    private static final int ASPIRATION_WINDOW = 25;
+    private static final int ASPIRATION_MIN_DEPTH = 4;
+    // Nodes a thread counts on its own before adding them to the count shared by all threads of a search
+    private static final int NODE_BATCH = 64;
+
+    private final int maxDepth;
+    private BoardEvaluator boardEvaluator;
+    private OpeningBook openingBook = OpeningBook.defaultBook();
+    private boolean useOpeningBook = true;
+    private SearchListener searchListener = SearchListener.CONSOLE;
+    private final TranspositionTable transpositionTable;
+    // Preallocated move lists, one per ply, so that the search does not allocate moves
+    private final int[][] moveStack = new int[MAX_PLY][ChessBoard.MAX_MOVES];
+    private final int[][] moveScores = new int[MAX_PLY][ChessBoard.MAX_MOVES];
+    // Move played at each ply of the current line, for countermoves
+    private final int[] playedMoves = new int[MAX_PLY];
+    private final MoveOrdering moveOrdering = new MoveOrdering(MAX_PLY);
+    // Triangular PV table: row ply holds the best line found from that ply, up to pvLength[ply]
+    private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    // Principal variation of the last completed iteration
+    private int[] principalVariation = new int[0];
+    // Lazy SMP helper searches, one per extra thread
+    private ChessAI[] helpers = new ChessAI[0];
+    // Searches instead of this instance and its helpers in SearchMode.FORK_JOIN, otherwise null
+    private ParallelSearch parallelSearch;
+    // Root moves and their scores from the last iteration, kept best-first to order the next one
+    private final int[] rootMoves = new int[ChessBoard.MAX_MOVES];
+    private final int[] rootScores = new int[ChessBoard.MAX_MOVES];
+
+    // Budget bookkeeping for the running search
+    private SearchLimits limits;
+    private long startTime;
+    private long nodes;
+    // Nodes of all threads, for the node limit; nodes up to countedNodes have been added
+    private LongAdder searchNodes = new LongAdder();
+    private long countedNodes;
+    private volatile boolean stopped;
+    // Set while searching a subtree for ParallelSearch, whose cutoffs cancel the search
+    private ParallelSearch.SplitPoint splitPoint;
+
+    public ChessAI(int maxDepth) {
+        this(maxDepth, new TranspositionTable(DEFAULT_HASH_MB));
+    }
+
+    // The table may be shared between several ChessAI instances searching in parallel
+    public ChessAI(int maxDepth, TranspositionTable transpositionTable) {
+        this(maxDepth, transpositionTable, new EvalCache(DEFAULT_EVAL_CACHE_MB));
+    }
+
+    // Like the transposition table, the evaluation cache is safe to share between threads
+    public ChessAI(int maxDepth, TranspositionTable transpositionTable, EvalCache evalCache) {
+        this(maxDepth, transpositionTable, new BoardEvaluator(evalCache, new PawnHashTable(DEFAULT_PAWN_HASH_MB)));
+    }
+
+    // The evaluator only holds the thread-safe caches, so helper threads share it
+    private ChessAI(int maxDepth, TranspositionTable transpositionTable, BoardEvaluator boardEvaluator) {
+        this.maxDepth = maxDepth;
+        this.boardEvaluator = boardEvaluator;
+        this.transpositionTable = transpositionTable;
+    }
+
+
+
+    public Move findBestMove(ChessBoard board, boolean isWhite) {
+        return findBestMove(board, isWhite, SearchLimits.depth(maxDepth));
+    }
+
+    // Iterative deepening: search depth 1, 2, 3, ... until the limits run out, and play the best move
+    // of the last iteration that completed.
+    // A stop() that comes in before the search gets going still ends it, so the stop flag is only cleared once the
+    // search is over, and by prepareSearch.
+    public Move findBestMove(ChessBoard board, boolean isWhite, SearchLimits limits) {
+        try {
+            int bookMove = useOpeningBook ? openingBook.pickMove(board) : PackedMove.NONE;
+            if (bookMove != PackedMove.NONE) {
+                // Nothing was searched, so no line or node count of an earlier search may be reported for this one
+                principalVariation = new int[0];
+                nodes = 0;
+                countedNodes = 0;
+                searchNodes.reset();
+                return Move.fromPacked(bookMove);
+            }
+
+            if (parallelSearch != null) {
+                Move bestMove = parallelSearch.findBestMove(board, isWhite, limits);
+                principalVariation = parallelSearch.getPrincipalVariation();
+                return bestMove;
+            }
+
+            this.limits = limits;
+            startTime = System.nanoTime();
+            nodes = 0;
+            countedNodes = 0;
+            searchNodes.reset();
+            transpositionTable.newSearch();
+
+            Thread[] helperThreads = startHelpers(board, isWhite);
+            int bestMove = iterativeDeepening(board, isWhite, 1, true);
+            stopHelpers(helperThreads);
+
+            return bestMove != PackedMove.NONE ? Move.fromPacked(bestMove) : null;
+        } finally {
+            stopped = false;
+        }
+    }
+
+    // Forget a stop() left over from an earlier search. Call it on the controlling thread before handing
+    // findBestMove to a search thread, so that a stop() sent right after cannot be lost.
+    public void prepareSearch() {
+        stopped = false;
+        if (parallelSearch != null) {
+            parallelSearch.prepareSearch();
+        }
+    }
+
+    // Lazy SMP: every extra thread searches the same root on its own board copy with its own move ordering tables.
+    // The threads only share the transposition table, through which they fill in each other's cutoffs.
+    public void setThreads(int threads) {
+        helpers = new ChessAI[Math.max(1, threads) - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new ChessAI(maxDepth, transpositionTable, boardEvaluator);
+            helpers[i].searchNodes = searchNodes;
+        }
+        if (parallelSearch != null) {
+            setSearchMode(SearchMode.FORK_JOIN);
+        }
+    }
+
+    // Lazy SMP unless set otherwise; the fork/join search uses as many threads as setThreads gave
+    public void setSearchMode(SearchMode searchMode) {
+        if (parallelSearch != null) {
+            parallelSearch.shutdown();
+            parallelSearch = null;
+        }
+        if (searchMode == SearchMode.FORK_JOIN) {
+            parallelSearch = new ParallelSearch(getThreads());
+            parallelSearch.setSearchListener(searchListener);
+        }
+    }
+
+    public SearchMode getSearchMode() {
+        return parallelSearch != null ? SearchMode.FORK_JOIN : SearchMode.LAZY_SMP;
+    }
+
+    public int getThreads() {
+        return helpers.length + 1;
+    }
+
+    private Thread[] startHelpers(ChessBoard board, boolean isWhite) {
+        Thread[] helperThreads = new Thread[helpers.length];
+        for (int i = 0; i < helpers.length; i++) {
+            ChessAI helper = helpers[i];
+            ChessBoard boardCopy = new ChessBoard(board);
+            // Helpers stop at the depth and the node limit, which counts the nodes of all threads; the main thread
+            // stops them when its own limits run out
+            helper.limits = new SearchLimits(limits.getMaxDepth(), limits.getMaxNodes(), 0);
+            helper.startTime = startTime;
+            helper.nodes = 0;
+            helper.countedNodes = 0;
+            helper.stopped = false;
+            // Every other helper starts one depth deeper so that the threads do not all search the same tree in step
+            int startDepth = 1 + (i + 1) % 2;
+            helperThreads[i] = new Thread(() -> helper.iterativeDeepening(boardCopy, isWhite, startDepth, false), "search-helper-" + i);
+            helperThreads[i].setDaemon(true);
+            helperThreads[i].start();
+        }
+        return helperThreads;
+    }
+
+    private void stopHelpers(Thread[] helperThreads) {
+        for (ChessAI helper : helpers) {
+            helper.stop();
+        }
+        for (int i = 0; i < helperThreads.length; i++) {
+            try {
+                helperThreads[i].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // The helper has finished, so its last batch can be read safely
+            helpers[i].countNodes();
+        }
+    }
+
+    // Returns the best move of the last completed iteration, or PackedMove.NONE if there are no legal moves
+    private int iterativeDeepening(ChessBoard board, boolean isWhite, int startDepth, boolean isMainThread) {
+        moveOrdering.newSearch();
+
+        int rootCount = board.generateMoves(isWhite, rootMoves);
+        if (rootCount == 0) {
+            return PackedMove.NONE;
+        }
+        // Before the first iteration has scores, order the root like any other node
+        long rootEntry = transpositionTable.probe(board.getZobristKey());
+        int rootHashMove = rootEntry != 0 ? TranspositionTable.move(rootEntry) : PackedMove.NONE;
+        moveOrdering.scoreMoves(rootMoves, rootScores, rootCount, rootHashMove, 0, PackedMove.NONE);
+        sortRootMoves(rootCount, true);
+        int bestMove = rootMoves[0];
+        int depthLimit = limits.getMaxDepth() > 0 ? Math.min(limits.getMaxDepth(), MAX_PLY - 1) : MAX_PLY - 1;
+
+        int score = 0;
+        for (int depth = Math.min(startDepth, depthLimit); depth <= depthLimit; depth++) {
+            // Aspiration window around the last score; when the result falls outside, that side is opened up further
+            int delta = ASPIRATION_WINDOW;
+            int alpha = depth >= ASPIRATION_MIN_DEPTH ? Math.max(score - delta, -INFINITY) : -INFINITY;
+            int beta = depth >= ASPIRATION_MIN_DEPTH ? Math.min(score + delta, INFINITY) : INFINITY;
+            int iterationScore;
+            while (true) {
+                iterationScore = searchRoot(board, isWhite, depth, alpha, beta, rootCount);
+                if (stopped) {
+                    break;
+                }
+                delta *= 4;
+                if (iterationScore <= alpha && alpha > -INFINITY) {
+                    alpha = Math.max(iterationScore - delta, -INFINITY);
+                } else if (iterationScore >= beta && beta < INFINITY) {
+                    beta = Math.min(iterationScore + delta, INFINITY);
+                } else {
+                    break;
+                }
+            }
+            if (stopped) {
+                break; // An unfinished iteration is thrown away
+            }
+
+            score = iterationScore;
+            bestMove = pvTable[0][0];
+            sortRootMoves(rootCount, isWhite);
+            if (!isMainThread) {
+                continue;
+            }
+            principalVariation = Arrays.copyOf(pvTable[0], pvLength[0]);
+            long elapsed = (System.nanoTime() - startTime) / 1_000_000;
+            searchListener.iterationComplete(depth, score, getNodes(), elapsed, principalVariation);
+
+            // The next iteration takes several times as long as this one, so do not start it past half the budget
+            if (limits.getMaxTimeMillis() > 0 && elapsed * 2 >= limits.getMaxTimeMillis()) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    // One pass over the root moves with principal variation search: the first move gets the full window, the others
+    // a zero window that only has to show they are no better, and a second search if they are.
+    // Leaves the principal variation in pvTable[0].
+    private int searchRoot(ChessBoard board, boolean isWhite, int depth, int alpha, int beta, int rootCount) {
+        pvLength[0] = 0;
+        int bestValue = isWhite ? -INFINITY : INFINITY;
+        for (int i = 0; i < rootCount; i++) {
+            int move = rootMoves[i];
+            playedMoves[0] = move;
+            board.makeMove(move);
+            int moveValue;
+            if (i == 0) {
+                moveValue = minimax(board, depth - 1, alpha, beta, !isWhite, 1);
+            } else {
+                moveValue = isWhite ? minimax(board, depth - 1, alpha, alpha + 1, false, 1) : minimax(board, depth - 1, beta - 1, beta, true, 1);
+                if (moveValue > alpha && moveValue < beta) {
+                    moveValue = minimax(board, depth - 1, alpha, beta, !isWhite, 1);
+                }
+            }
+            board.unmakeMove(move);
+            if (stopped) {
+                return 0;
+            }
+            rootScores[i] = moveValue;
+
+            if (isWhite ? moveValue > bestValue : moveValue < bestValue) {
+                bestValue = moveValue;
+            }
+            if (isWhite ? moveValue > alpha : moveValue < beta) {
+                updatePv(0, move);
+            }
+            if (isWhite) {
+                alpha = Math.max(alpha, moveValue);
+            } else {
+                beta = Math.min(beta, moveValue);
+            }
+            if (beta <= alpha) {
+                break; // Only with an aspiration window, which is then widened
+            }
+        }
+        return bestValue;
+    }
+
+    // The move heads the line from this ply, followed by the line found from the next one
+    private void updatePv(int ply, int move) {
+        pvTable[ply][ply] = move;
+        System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+        pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+    }
+
+    // Best line of the last completed iteration, starting with the move to play
+    public List<Move> getPrincipalVariation() {
+        List<Move> line = new ArrayList<>(principalVariation.length);
+        for (int move : principalVariation) {
+            line.add(Move.fromPacked(move));
+        }
+        return line;
+    }
+
+    // Book lookups go by position, so the book also applies to positions set up from FEN or reached by transposition
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    public void setUseOpeningBook(boolean useOpeningBook) {
+        this.useOpeningBook = useOpeningBook;
+    }
+
+    // Called by the main search thread after every completed iteration
+    public void setSearchListener(SearchListener searchListener) {
+        this.searchListener = searchListener;
+        if (parallelSearch != null) {
+            parallelSearch.setSearchListener(searchListener);
+        }
+    }
+
+    // Moves to mate for a mate score, counted the UCI way: positive when white mates, negative when black does,
+    // and 0 for any other score
+    public static int mateIn(int score) {
+        if (score >= MATE_BOUND) {
+            return (MATE - score + 1) / 2;
+        }
+        if (score <= -MATE_BOUND) {
+            return -((MATE + score + 1) / 2);
+        }
+        return 0;
+    }
+
+    // Ask a running search to finish, or the next one if it has not started yet; it returns the best move of its last
+    // completed iteration
+    public void stop() {
+        stopped = true;
+        if (parallelSearch != null) {
+            parallelSearch.stop();
+        }
+    }
+
+    // Forget everything learned from earlier searches, as for a new game: the transposition table, the move ordering
+    // tables of every thread and the evaluation caches. Nothing is reallocated.
+    public void clear() {
+        transpositionTable.clear();
+        boardEvaluator.getEvalCache().clear();
+        boardEvaluator.getPawnHashTable().clear();
+        moveOrdering.clear();
+        for (ChessAI helper : helpers) {
+            helper.moveOrdering.clear();
+        }
+        principalVariation = new int[0];
+    }
+
+    // Hit and miss counters for sizing the caches
+    public EvalCache getEvalCache() {
+        return boardEvaluator.getEvalCache();
+    }
+
+    public PawnHashTable getPawnHashTable() {
+        return boardEvaluator.getPawnHashTable();
+    }
+
+    // Nodes searched by the last search, over all threads. While the search runs, the helpers' latest nodes, fewer than
+    // NODE_BATCH per helper, are not included yet. Call it on the searching thread or after the search.
+    public long getNodes() {
+        if (parallelSearch != null) {
+            return parallelSearch.getNodes();
+        }
+        return searchNodes.sum() + nodes - countedNodes;
+    }
+
+    // Adds the nodes of this thread that are not in the shared count yet
+    private void countNodes() {
+        searchNodes.add(nodes - countedNodes);
+        countedNodes = nodes;
+    }
+
+    // Insertion sort of the root moves by their last scores, best for the side to move first
+    private void sortRootMoves(int rootCount, boolean isWhite) {
+        for (int i = 1; i < rootCount; i++) {
+            int move = rootMoves[i];
+            int score = rootScores[i];
+            int j = i - 1;
+            while (j >= 0 && (isWhite ? rootScores[j] < score : rootScores[j] > score)) {
+                rootMoves[j + 1] = rootMoves[j];
+                rootScores[j + 1] = rootScores[j];
+                j--;
+            }
+            rootMoves[j + 1] = move;
+            rootScores[j + 1] = score;
+        }
+    }
+
+    private void checkLimits() {
+        if (nodes - countedNodes >= NODE_BATCH) {
+            countNodes();
+        }
+        long maxNodes = limits.getMaxNodes();
+        if (maxNodes > 0 && (nodes >= maxNodes || countedNodes == nodes && searchNodes.sum() >= maxNodes)) {
+            stopped = true;
+        } else if (limits.getMaxTimeMillis() > 0 && (nodes & 1023) == 0
+                && (System.nanoTime() - startTime) / 1_000_000 >= limits.getMaxTimeMillis()) {
+            stopped = true;
+        } else if (splitPoint != null && (nodes & 1023) == 0 && splitPoint.isCancelled()) {
+            stopped = true;
+        }
+    }
+
+    // Serial search of one subtree below a split point of ParallelSearch. Returns 0 once the split point is cancelled,
+    // which the caller then ignores. Starts from an empty transposition table and move ordering, so that the result
+    // does not depend on what this searcher was given before; the line found is left for subtreePv.
+    int searchSubtree(ChessBoard board, int depth, int alpha, int beta, boolean maximizingPlayer, int ply, int previousMove,
+                      ParallelSearch.SplitPoint splitPoint) {
+        transpositionTable.clear();
+        moveOrdering.clear();
+        this.splitPoint = splitPoint;
+        limits = NO_LIMITS;
+        nodes = 0;
+        countedNodes = 0;
+        searchNodes.reset();
+        stopped = false;
+        playedMoves[ply - 1] = previousMove;
+        return minimax(board, depth, alpha, beta, maximizingPlayer, ply);
+    }
+
+    // Best line from ply found by the last searchSubtree
+    int[] subtreePv(int ply) {
+        return Arrays.copyOfRange(pvTable[ply], ply, pvLength[ply]);
+    }
+
+    // Legal moves sorted best first, for the split nodes of ParallelSearch. Like searchSubtree, uses no history
+    // from earlier searches: only the given hash move and the static order of the moves.
+    int orderedMoves(ChessBoard board, boolean maximizingPlayer, int[] moves, int ply, int previousMove, int hashMove) {
+        int count = board.generateMoves(maximizingPlayer, moves);
+        moveOrdering.clear();
+        int[] scores = moveScores[ply];
+        moveOrdering.scoreMoves(moves, scores, count, hashMove, ply, previousMove);
+        for (int i = 0; i < count; i++) {
+            MoveOrdering.pickNext(moves, scores, i, count);
+        }
+        return count;
+    }
+
+    private int minimax(ChessBoard board, int depth, int alpha, int beta, boolean maximizingPlayer, int ply) {
+        pvLength[ply] = ply;
+        nodes++;
+        checkLimits();
+        if (stopped) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return boardEvaluator.evaluate(board, maximizingPlayer);
+        }
+        if (depth == 0) {
+            nodes--; // The quiescence search counts this node itself
+            return quiescence(board, alpha, beta, maximizingPlayer, ply);
+        }
+
+        // A stored result that is at least as deep either answers this node or narrows its window. Not on the principal
+        // variation, whose open window must be searched for the line to be reported in full (and a ponder move to exist).
+        long key = board.getZobristKey();
+        long entry = transpositionTable.probe(key);
+        int hashMove = entry != 0 ? TranspositionTable.move(entry) : PackedMove.NONE;
+        boolean pvNode = beta - alpha > 1;
+        if (entry != 0 && !pvNode && TranspositionTable.depth(entry) >= depth) {
+            int score = scoreFromTable(TranspositionTable.score(entry), ply);
+            switch (TranspositionTable.bound(entry)) {
+                case TranspositionTable.EXACT:
+                    return score;
+                case TranspositionTable.LOWER_BOUND:
+                    alpha = Math.max(alpha, score);
+                    break;
+                case TranspositionTable.UPPER_BOUND:
+                    beta = Math.min(beta, score);
+                    break;
+            }
+            if (beta <= alpha) {
+                return score;
+            }
+        }
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int bestMove = PackedMove.NONE;
+        int previousMove = playedMoves[ply - 1];
+        boolean inCheck = board.isKingInCheck(maximizingPlayer);
+
+        // Null move: if the side to move could pass and still fail high, a real move will fail high too.
+        // Not in check, not twice in a row, and not with only king and pawns, where passing may really be best.
+        // Not on the principal variation either, whose score must come from real moves.
+        if (!pvNode && depth >= NULL_MOVE_MIN_DEPTH && !inCheck && previousMove != PackedMove.NONE && board.hasNonPawnMaterial(maximizingPlayer)
+                && (maximizingPlayer ? beta < INFINITY : alpha > -INFINITY)) {
+            int reducedDepth = Math.max(depth - 1 - (depth >= 6 ? 3 : 2), 0);
+            playedMoves[ply] = PackedMove.NONE;
+            board.makeNullMove();
+            int eval = maximizingPlayer ? minimax(board, reducedDepth, beta - 1, beta, false, ply + 1)
+                    : minimax(board, reducedDepth, alpha, alpha + 1, true, ply + 1);
+            board.unmakeNullMove();
+            if (stopped) {
+                return 0;
+            }
+            if (maximizingPlayer ? eval >= beta : eval <= alpha) {
+                // A mate found after passing is not a mate the side to move can force, so only the bound is proven
+                if (Math.abs(eval) >= MATE_BOUND) {
+                    return maximizingPlayer ? beta : alpha;
+                }
+                return eval;
+            }
+        }
+
+        int[] moves = moveStack[ply];
+        int[] scores = moveScores[ply];
+        int moveCount = board.generateMoves(maximizingPlayer, moves);
+        if (moveCount == 0) {
+            return inCheck ? matedScore(maximizingPlayer, ply) : 0; // Checkmate or stalemate
+        }
+        moveOrdering.scoreMoves(moves, scores, moveCount, hashMove, ply, previousMove);
+        int bestEval;
+        if (maximizingPlayer) {
+            bestEval = -INFINITY;
+            for (int i = 0; i < moveCount; i++) {
+                int move = MoveOrdering.pickNext(moves, scores, i, moveCount);
+                playedMoves[ply] = move;
+                board.makeMove(move);
+                int eval;
+                if (i == 0) {
+                    eval = minimax(board, depth - 1, alpha, beta, false, ply + 1);
+                } else {
+                    // PVS: a zero window at alpha, reduced for late quiet moves, and the full search only for a move that beats it
+                    int reduction = lateMoveReduction(board, move, i, depth, inCheck, maximizingPlayer);
+                    eval = minimax(board, depth - 1 - reduction, alpha, alpha + 1, false, ply + 1);
+                    if (eval > alpha && reduction > 0) {
+                        eval = minimax(board, depth - 1, alpha, alpha + 1, false, ply + 1);
+                    }
+                    if (eval > alpha && eval < beta) {
+                        eval = minimax(board, depth - 1, alpha, beta, false, ply + 1);
+                    }
+                }
+                board.unmakeMove(move);
+                if (stopped) {
+                    return 0;
+                }
+                if (eval > bestEval) {
+                    bestEval = eval;
+                    bestMove = move;
+                }
+                if (eval > alpha) {
+                    updatePv(ply, move);
+                }
+                alpha = Math.max(alpha, eval);
+                if (beta <= alpha) {
+                    moveOrdering.recordCutoff(move, ply, depth, previousMove);
+                    break; // Alpha-Beta Pruning
+                }
+            }
+        } else {
+            bestEval = INFINITY;
+            for (int i = 0; i < moveCount; i++) {
+                int move = MoveOrdering.pickNext(moves, scores, i, moveCount);
+                playedMoves[ply] = move;
+                board.makeMove(move);
+                int eval;
+                if (i == 0) {
+                    eval = minimax(board, depth - 1, alpha, beta, true, ply + 1);
+                } else {
+                    // PVS: a zero window at beta, reduced for late quiet moves, and the full search only for a move that gets below it
+                    int reduction = lateMoveReduction(board, move, i, depth, inCheck, maximizingPlayer);
+                    eval = minimax(board, depth - 1 - reduction, beta - 1, beta, true, ply + 1);
+                    if (eval < beta && reduction > 0) {
+                        eval = minimax(board, depth - 1, beta - 1, beta, true, ply + 1);
+                    }
+                    if (eval > alpha && eval < beta) {
+                        eval = minimax(board, depth - 1, alpha, beta, true, ply + 1);
+                    }
+                }
+                board.unmakeMove(move);
+                if (stopped) {
+                    return 0;
+                }
+                if (eval < bestEval) {
+                    bestEval = eval;
+                    bestMove = move;
+                }
+                if (eval < beta) {
+                    updatePv(ply, move);
+                }
+                beta = Math.min(beta, eval);
+                if (beta <= alpha) {
+                    moveOrdering.recordCutoff(move, ply, depth, previousMove);
+                    break; // Alpha-Beta Pruning
+                }
+            }
+        }
+
+        // Scores are white-relative, so the bound type only depends on where the result fell against the window
+        int bound = bestEval <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : bestEval >= originalBeta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        transpositionTable.store(key, bestMove, scoreToTable(bestEval, ply), depth, bound);
+        return bestEval;
+    }
+
+    // Score for the side to move being checkmated at this ply, so that the winner prefers the quickest mate
+    private static int matedScore(boolean maximizingPlayer, int ply) {
+        return maximizingPlayer ? -(MATE - ply) : MATE - ply;
+    }
+
+    // Mate scores count plies from the root, but the table stores them counted from the node, so that an entry
+    // stays correct when the position is reached at another ply
+    private static int scoreToTable(int score, int ply) {
+        return score > MATE_BOUND ? score + ply : score < -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        return score > MATE_BOUND ? score - ply : score < -MATE_BOUND ? score + ply : score;
+    }
+
+    // Late move reductions: with good ordering a quiet move far down the list rarely matters, so it is first searched
+    // shallower. Captures, promotions, check evasions and checking moves (already made on the board) keep full depth.
+    private int lateMoveReduction(ChessBoard board, int move, int moveIndex, int depth, boolean inCheck, boolean maximizingPlayer) {
+        if (depth < LMR_MIN_DEPTH || moveIndex < LMR_MIN_MOVE || inCheck || PackedMove.isCapture(move) || PackedMove.isPromotion(move)
+                || board.isKingInCheck(!maximizingPlayer)) {
+            return 0;
+        }
+        return depth >= 6 && moveIndex >= 6 ? 2 : 1;
+    }
+
+    // Resolve captures and promotions before evaluating, so that a leaf is never scored in the middle of an exchange.
+    // The side to move may "stand pat" on the static evaluation instead of capturing; in check every evasion is searched.
+    private int quiescence(ChessBoard board, int alpha, int beta, boolean maximizingPlayer, int ply) {
+        pvLength[ply] = ply;
+        nodes++;
+        checkLimits();
+        if (stopped) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return boardEvaluator.evaluate(board, maximizingPlayer);
+        }
+
+        boolean inCheck = board.isKingInCheck(maximizingPlayer);
+        int[] moves = moveStack[ply];
+        int moveCount = inCheck ? board.generateMoves(maximizingPlayer, moves) : board.generateCaptures(maximizingPlayer, moves);
+        if (inCheck && moveCount == 0) {
+            return matedScore(maximizingPlayer, ply);
+        }
+
+        int standPat = 0;
+        int bestEval = maximizingPlayer ? -INFINITY : INFINITY;
+        if (!inCheck) {
+            standPat = boardEvaluator.evaluate(board, maximizingPlayer);
+            bestEval = standPat;
+            if (maximizingPlayer) {
+                if (standPat >= beta) {
+                    return standPat;
+                }
+                alpha = Math.max(alpha, standPat);
+            } else {
+                if (standPat <= alpha) {
+                    return standPat;
+                }
+                beta = Math.min(beta, standPat);
+            }
+        }
+
+        int[] scores = moveScores[ply];
+        moveOrdering.scoreMoves(moves, scores, moveCount, PackedMove.NONE, ply, playedMoves[ply - 1]);
+        for (int i = 0; i < moveCount; i++) {
+            int move = MoveOrdering.pickNext(moves, scores, i, moveCount);
+
+            // Delta pruning: skip captures that cannot bring the score back to the window even with a margin
+            if (!inCheck && !PackedMove.isPromotion(move)) {
+                int gain = boardEvaluator.getValueOfPiece(PackedMove.captured(move)) + DELTA_MARGIN;
+                if (maximizingPlayer ? standPat + gain <= alpha : standPat - gain >= beta) {
+                    continue;
+                }
+            }
+
+            playedMoves[ply] = move;
+            board.makeMove(move);
+            int eval = quiescence(board, alpha, beta, !maximizingPlayer, ply + 1);
+            board.unmakeMove(move);
+            if (stopped) {
+                return 0;
+            }
+            if (maximizingPlayer) {
+                bestEval = Math.max(bestEval, eval);
+                alpha = Math.max(alpha, eval);
+            } else {
+                bestEval = Math.min(bestEval, eval);
+                beta = Math.min(beta, eval);
+            }
+            if (beta <= alpha) {
+                break;
+            }
+        }
+        return bestEval;
+    }
+}
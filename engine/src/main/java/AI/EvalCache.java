@@ -0,0 +1,61 @@
+package AI;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+// Direct-mapped cache of static evaluations, keyed by the Zobrist key of the position. Small enough to live on the
+// heap; like the transposition table, each entry is the pair (key ^ data, data) written without locks, so a torn
+// entry from a concurrent writer simply fails the key check and counts as a miss.
+public class EvalCache {
+    public static final int NO_SCORE = Integer.MIN_VALUE;
+
+    private static final int ENTRY_BYTES = 16;
+    // Marks an occupied entry, so that data is never 0 even for a score of 0
+    private static final long VALID = 1L << 32;
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] entries;
+    private final int indexMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EvalCache(int sizeMb) {
+        // Round down to a power of two entries so that the index is a mask of the key
+        int size = Integer.highestOneBit((int) Math.max(1L, Math.min((long) sizeMb * 1024 * 1024 / ENTRY_BYTES, 1 << 26)));
+        entries = new long[size * 2];
+        indexMask = size - 1;
+    }
+
+    // Returns the cached score for this key, or NO_SCORE
+    public int probe(long key) {
+        int index = ((int) key & indexMask) * 2;
+        long checksum = (long) LONGS.getOpaque(entries, index);
+        long data = (long) LONGS.getOpaque(entries, index + 1);
+        if ((checksum ^ data) == key && data != 0) {
+            hits.increment();
+            return (int) data;
+        }
+        misses.increment();
+        return NO_SCORE;
+    }
+
+    public void store(long key, int score) {
+        int index = ((int) key & indexMask) * 2;
+        long data = VALID | (score & 0xFFFFFFFFL);
+        LONGS.setOpaque(entries, index, key ^ data);
+        LONGS.setOpaque(entries, index + 1, data);
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            LONGS.setOpaque(entries, i, 0L);
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public int getSize() { return indexMask + 1; }
+}
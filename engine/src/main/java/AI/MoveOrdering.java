@@ -0,0 +1,117 @@
+package AI;
+
+import Model.ChessPiece;
+import Model.PackedMove;
+import java.util.Arrays;
+
+// Orders moves so that alpha-beta sees likely cutoffs first: the hash move, then captures by MVV-LVA
+// (most valuable victim, least valuable attacker), then the killer moves of the ply, the countermove
+// to the opponent's last move, and finally quiet moves by their history score.
+// The tables are per search thread and are not synchronized.
+public class MoveOrdering {
+    private static final int HASH_MOVE_SCORE = 1_000_000;
+    private static final int CAPTURE_SCORE = 100_000;
+    private static final int FIRST_KILLER_SCORE = 90_000;
+    private static final int SECOND_KILLER_SCORE = 80_000;
+    private static final int COUNTERMOVE_SCORE = 70_000;
+    private static final int HISTORY_LIMIT = 60_000;
+
+    // Piece values for MVV-LVA, indexed by ChessPiece ordinal; the king is never a victim and is the worst attacker
+    private static final int[] PIECE_VALUES = {1, 3, 3, 5, 9, 20, 1, 3, 3, 5, 9, 20, 0};
+
+    private final int[][] killers;
+    private final int[][] history = new int[12][64];      // [moving piece][to square]
+    private final int[][] countermoves = new int[12][64]; // [previous moving piece][previous to square]
+
+    public MoveOrdering(int maxPly) {
+        killers = new int[maxPly][2];
+    }
+
+    // Killers belong to one search; history is only halved so that it keeps some value across moves
+    public void newSearch() {
+        for (int[] pair : killers) {
+            pair[0] = PackedMove.NONE;
+            pair[1] = PackedMove.NONE;
+        }
+        for (int[] row : history) {
+            for (int square = 0; square < 64; square++) {
+                row[square] /= 2;
+            }
+        }
+    }
+
+    // Forget all killers, history and countermoves, as for a new game
+    public void clear() {
+        for (int[] pair : killers) {
+            Arrays.fill(pair, PackedMove.NONE);
+        }
+        for (int piece = 0; piece < history.length; piece++) {
+            Arrays.fill(history[piece], 0);
+            Arrays.fill(countermoves[piece], PackedMove.NONE);
+        }
+    }
+
+    public void scoreMoves(int[] moves, int[] scores, int count, int hashMove, int ply, int previousMove) {
+        int countermove = previousMove != PackedMove.NONE
+                ? countermoves[PackedMove.piece(previousMove).ordinal()][PackedMove.to(previousMove)] : PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (move == hashMove) {
+                scores[i] = HASH_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+                scores[i] = CAPTURE_SCORE + PIECE_VALUES[PackedMove.captured(move).ordinal()] * 100
+                        + PIECE_VALUES[PackedMove.promotion(move).ordinal()] * 100 - PIECE_VALUES[PackedMove.piece(move).ordinal()];
+            } else if (move == killers[ply][0]) {
+                scores[i] = FIRST_KILLER_SCORE;
+            } else if (move == killers[ply][1]) {
+                scores[i] = SECOND_KILLER_SCORE;
+            } else if (move == countermove) {
+                scores[i] = COUNTERMOVE_SCORE;
+            } else {
+                scores[i] = history[PackedMove.piece(move).ordinal()][PackedMove.to(move)];
+            }
+        }
+    }
+
+    // Selection step: swap the best remaining move into position index and return it
+    public static int pickNext(int[] moves, int[] scores, int index, int count) {
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves[best];
+        int score = scores[best];
+        moves[best] = moves[index];
+        scores[best] = scores[index];
+        moves[index] = move;
+        scores[index] = score;
+        return move;
+    }
+
+    // A quiet move caused a beta cutoff: remember it as a killer, a countermove and in the history table
+    public void recordCutoff(int move, int ply, int depth, int previousMove) {
+        if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+            return;
+        }
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        if (previousMove != PackedMove.NONE) {
+            countermoves[PackedMove.piece(previousMove).ordinal()][PackedMove.to(previousMove)] = move;
+        }
+        int[] row = history[PackedMove.piece(move).ordinal()];
+        int to = PackedMove.to(move);
+        row[to] += depth * depth;
+        if (row[to] > HISTORY_LIMIT) {
+            // Keep history below the killer scores by scaling the whole table down
+            for (int[] pieceHistory : history) {
+                for (int square = 0; square < 64; square++) {
+                    pieceHistory[square] /= 2;
+                }
+            }
+        }
+    }
+}
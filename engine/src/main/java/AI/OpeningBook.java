@@ -0,0 +1,225 @@
+package AI;
+
+import Model.Bitboards;
+import Model.ChessBoard;
+import Model.Fen;
+import Model.PackedMove;
+import Model.PolyglotKey;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+
+// Opening book in the Polyglot .bin format: 16-byte big-endian entries (key, move, weight, learn), sorted by key as an
+// unsigned number. A file is memory-mapped instead of read onto the heap, and a lookup is a binary search for the
+// position's key, so it costs O(log n) however large the book is and however long the game has been. Among the
+// entries for a position, a move is drawn with probability proportional to its weight.
+//
+// Keys are Polyglot's own (PolyglotKey.STANDARD) unless a book is opened with another key function, so books built here
+// with fromLines or main and books made by other Polyglot tools are interchangeable.
+//
+// Usage: OpeningBook lines.txt book.bin, where each line of lines.txt is a game opening in UCI moves from the start
+public class OpeningBook {
+    private static final int ENTRY_BYTES = 16;
+    // A single mapping is limited to 2 GB, so larger files are mapped in chunks of this many entries (1 GB)
+    private static final int CHUNK_ENTRIES = 1 << 26;
+    // Built-in lines, used when no book file is given
+    private static final List<String> DEFAULT_LINES = List.of(
+            "e2e4 e7e5 g1f3 b8c6 f1b5",                              // Ruy Lopez
+            "e2e4 c7c5 g1f3 b8c6 d2d4 c5d4 f3d4 g7g6 b1c3 f8g7 c1e3 g8f6"); // Sicilian, accelerated dragon
+    private static final OpeningBook DEFAULT = fromLines(DEFAULT_LINES);
+    // Legal moves, candidate moves and their weights for pickMove; books are shared between search threads
+    private static final ThreadLocal<int[][]> MOVE_BUFFERS = ThreadLocal.withInitial(() -> new int[3][ChessBoard.MAX_MOVES]);
+
+    private final ByteBuffer[] chunks;
+    private final long entryCount;
+    private final ToLongFunction<ChessBoard> keyFunction;
+
+    private OpeningBook(ByteBuffer[] chunks, long entryCount, ToLongFunction<ChessBoard> keyFunction) {
+        this.chunks = chunks;
+        this.entryCount = entryCount;
+        this.keyFunction = keyFunction;
+    }
+
+    // The small book the engine has always played from
+    public static OpeningBook defaultBook() {
+        return DEFAULT;
+    }
+
+    // Maps a standard Polyglot book, such as one built by main
+    public static OpeningBook open(Path file) throws IOException {
+        return open(file, PolyglotKey.STANDARD);
+    }
+
+    // Maps a book file keyed by the given function, e.g. a PolyglotKey over another random table
+    public static OpeningBook open(Path file, ToLongFunction<ChessBoard> keyFunction) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long entryCount = channel.size() / ENTRY_BYTES;
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((entryCount + CHUNK_ENTRIES - 1) / CHUNK_ENTRIES)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i * CHUNK_ENTRIES;
+                long size = Math.min(CHUNK_ENTRIES, entryCount - start) * ENTRY_BYTES;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start * ENTRY_BYTES, size);
+            }
+            // The mappings stay valid after the channel is closed
+            return new OpeningBook(chunks, entryCount, keyFunction);
+        }
+    }
+
+    // An in-memory book with every position along the lines, each move weighted by the number of lines playing it
+    public static OpeningBook fromLines(List<String> lines) {
+        ByteBuffer entries = encode(lines);
+        return new OpeningBook(new ByteBuffer[] {entries}, entries.capacity() / ENTRY_BYTES, PolyglotKey.STANDARD);
+    }
+
+    public long size() {
+        return entryCount;
+    }
+
+    // A weighted random book move for the side to move, or PackedMove.NONE if the position is not in the book
+    public int pickMove(ChessBoard board) {
+        long key = keyFunction.applyAsLong(board);
+        long first = firstEntry(key);
+        if (first >= entryCount || keyAt(first) != key) {
+            return PackedMove.NONE;
+        }
+
+        int[][] buffers = MOVE_BUFFERS.get();
+        int[] legalMoves = buffers[0];
+        int[] candidates = buffers[1];
+        int[] weights = buffers[2];
+        int legalCount = board.generateMoves(board.isWhiteToMove(), legalMoves);
+        int candidateCount = 0;
+        int totalWeight = 0;
+        for (long entry = first; entry < entryCount && keyAt(entry) == key; entry++) {
+            int weight = weightAt(entry);
+            int move = findLegalMove(legalMoves, legalCount, moveAt(entry));
+            // Weight 0 means the move is in the book but never to be played; unknown moves mean a key collision
+            if (weight > 0 && move != PackedMove.NONE && candidateCount < legalCount) {
+                candidates[candidateCount] = move;
+                weights[candidateCount++] = weight;
+                totalWeight += weight;
+            }
+        }
+        if (candidateCount == 0) {
+            return PackedMove.NONE;
+        }
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < candidateCount; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return candidates[i];
+            }
+        }
+        return candidates[candidateCount - 1];
+    }
+
+    // Lower bound: the first entry whose key is not below the given one, comparing as unsigned like Polyglot does
+    private long firstEntry(long key) {
+        long low = 0;
+        long high = entryCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long keyAt(long entry) {
+        return chunks[(int) (entry / CHUNK_ENTRIES)].getLong((int) (entry % CHUNK_ENTRIES) * ENTRY_BYTES);
+    }
+
+    private int moveAt(long entry) {
+        return chunks[(int) (entry / CHUNK_ENTRIES)].getShort((int) (entry % CHUNK_ENTRIES) * ENTRY_BYTES + 8) & 0xFFFF;
+    }
+
+    private int weightAt(long entry) {
+        return chunks[(int) (entry / CHUNK_ENTRIES)].getShort((int) (entry % CHUNK_ENTRIES) * ENTRY_BYTES + 10) & 0xFFFF;
+    }
+
+    private static int findLegalMove(int[] legalMoves, int legalCount, int bookMove) {
+        for (int i = 0; i < legalCount; i++) {
+            if (toPolyglot(legalMoves[i]) == bookMove) {
+                return legalMoves[i];
+            }
+        }
+        return PackedMove.NONE;
+    }
+
+    // Polyglot move bits: to file 0-2, to rank 3-5, from file 6-8, from rank 9-11, promotion 12-14 (knight 1 to queen 4).
+    // Castling is written as the king taking its own rook, e.g. e1h1.
+    private static int toPolyglot(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        if (PackedMove.isCastling(move)) {
+            to = to > from ? from + 3 : from - 4;
+        }
+        int promotion = PackedMove.isPromotion(move) ? PackedMove.promotion(move).ordinal() % 6 : 0;
+        return Bitboards.col(to) | (7 - Bitboards.row(to)) << 3 | Bitboards.col(from) << 6 | (7 - Bitboards.row(from)) << 9
+                | promotion << 12;
+    }
+
+    // Plays out the lines, merges repeated (position, move) pairs into one weighted entry and sorts the entries
+    private static ByteBuffer encode(List<String> lines) {
+        Map<Long, Map<Integer, Integer>> weights = new HashMap<>();
+        int[] moves = new int[ChessBoard.MAX_MOVES];
+        for (String line : lines) {
+            ChessBoard board = Fen.parse(Fen.START_POSITION);
+            for (String uci : line.trim().split("\\s+")) {
+                if (uci.isEmpty()) {
+                    continue;
+                }
+                int move = PackedMove.NONE;
+                int count = board.generateMoves(board.isWhiteToMove(), moves);
+                for (int i = 0; i < count && move == PackedMove.NONE; i++) {
+                    move = PackedMove.toUci(moves[i]).equals(uci) ? moves[i] : PackedMove.NONE;
+                }
+                if (move == PackedMove.NONE) {
+                    throw new IllegalArgumentException("Illegal move " + uci + " in book line: " + line);
+                }
+                weights.computeIfAbsent(PolyglotKey.STANDARD.applyAsLong(board), k -> new HashMap<>()).merge(toPolyglot(move), 1, Integer::sum);
+                board.makeMove(move);
+            }
+        }
+
+        List<long[]> entries = new ArrayList<>(); // key, move, weight
+        weights.forEach((key, movesByWeight) -> movesByWeight.forEach((move, weight) ->
+                entries.add(new long[] {key, move, Math.min(weight, 0xFFFF)})));
+        entries.sort((a, b) -> a[0] != b[0] ? Long.compareUnsigned(a[0], b[0]) : Long.compare(b[2], a[2]));
+        ByteBuffer buffer = ByteBuffer.allocate(entries.size() * ENTRY_BYTES);
+        for (long[] entry : entries) {
+            buffer.putLong(entry[0]).putShort((short) entry[1]).putShort((short) entry[2]).putInt(0);
+        }
+        return buffer.flip();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: OpeningBook lines.txt book.bin");
+            return;
+        }
+        List<String> lines = Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8);
+        lines.removeIf(String::isBlank);
+        ByteBuffer book = encode(lines);
+        try (FileChannel channel = FileChannel.open(Path.of(args[1]), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (book.hasRemaining()) {
+                channel.write(book);
+            }
+        }
+        System.out.println(lines.size() + " lines, " + book.capacity() / ENTRY_BYTES + " entries");
+    }
+}
@@ -0,0 +1,342 @@
+package AI;
+
+import Model.ChessBoard;
+import Model.Move;
+import Model.PackedMove;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fork/join alternative to the Lazy SMP mode of ChessAI, splitting the tree with Young Brothers Wait:
+// at a node with enough depth left the eldest (best-ordered) move is searched first, serially, and only
+// then are its younger brothers forked as tasks, all with the window the eldest left. A sibling that fails high
+// cancels the remaining siblings and everything below them.
+// Nothing is shared between threads but the split points; every task owns a board copy, and the serial
+// searches near the leaves run on a ChessAI per worker thread that starts every subtree from empty tables.
+// Windows are fixed when a task is created, ties go to the lower move index and a node cut off by a sibling
+// returns its bound, so the same position and depth give the same move and score however the tasks are scheduled.
+// ChessAI runs it in SearchMode.FORK_JOIN.
+public class ParallelSearch {
+    private static final int INFINITY = 30000;
+    private static final int MAX_DEPTH = 64;
+    // Nodes with less depth left are searched serially
+    private static final int MIN_SPLIT_DEPTH = 3;
+    // A single bucket: the table is cleared for every subtree, and the subtrees are shallow
+    private static final int SEARCHER_HASH_MB = 0;
+    private static final int[] NO_MOVES = new int[0];
+    // How often the calling thread checks the time and node limits while an iteration runs
+    private static final long POLL_MILLIS = 5;
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<ChessAI> searchers = ThreadLocal.withInitial(() -> new ChessAI(0, new TranspositionTable(SEARCHER_HASH_MB)));
+    private final LongAdder nodes = new LongAdder();
+    private SearchListener searchListener = SearchListener.CONSOLE;
+    // Principal variation of the last completed iteration
+    private int[] principalVariation = NO_MOVES;
+    private volatile boolean stopped;
+    // Top split point of the running iteration; cancelling it aborts every task of the iteration
+    private volatile SplitPoint rootScope;
+
+    public ParallelSearch(int threads) {
+        pool = new ForkJoinPool(threads);
+    }
+
+    public Move findBestMove(ChessBoard board, boolean isWhite, int depth) {
+        return findBestMove(board, isWhite, SearchLimits.depth(depth));
+    }
+
+    // Iterative deepening until the limits run out or stop() is called, like ChessAI.findBestMove; returns the best
+    // move of the last completed iteration, or null if there is no legal move
+    public Move findBestMove(ChessBoard board, boolean isWhite, SearchLimits limits) {
+        try {
+            nodes.reset();
+            principalVariation = NO_MOVES;
+            long startTime = System.nanoTime();
+            int maxDepth = limits.getMaxDepth() > 0 ? Math.min(limits.getMaxDepth(), MAX_DEPTH) : MAX_DEPTH;
+            int bestMove = PackedMove.NONE;
+            for (int d = 1; d <= maxDepth; d++) {
+                SplitPoint scope = new SplitPoint(null, isWhite, -INFINITY, INFINITY, 0, PackedMove.NONE, NO_MOVES);
+                rootScope = scope;
+                if (stopped) {
+                    break;
+                }
+                // The previous iteration's line is searched first
+                SplitTask root = new SplitTask(new ChessBoard(board), d, -INFINITY, INFINITY, isWhite, 0, PackedMove.NONE,
+                        0, null, scope, principalVariation);
+                pool.execute(root);
+                int score = awaitIteration(root, scope, limits, startTime);
+                if (scope.isCancelled()) {
+                    // Any move of an interrupted first iteration is better than none
+                    if (bestMove == PackedMove.NONE) {
+                        bestMove = root.bestMove;
+                    }
+                    break;
+                }
+                if (root.bestMove == PackedMove.NONE) {
+                    break;
+                }
+                bestMove = root.bestMove;
+                principalVariation = root.pv;
+                searchListener.iterationComplete(d, score, nodes.sum(), (System.nanoTime() - startTime) / 1_000_000,
+                        principalVariation);
+            }
+            if (bestMove == PackedMove.NONE) {
+                // Stopped before the first move was searched: still play a legal move if there is one
+                int[] moves = new int[ChessBoard.MAX_MOVES];
+                bestMove = board.generateMoves(isWhite, moves) > 0 ? moves[0] : PackedMove.NONE;
+            }
+            return bestMove != PackedMove.NONE ? Move.fromPacked(bestMove) : null;
+        } finally {
+            rootScope = null;
+            stopped = false;
+        }
+    }
+
+    // Waits for an iteration to finish, cancelling it once the search is stopped or out of time or nodes
+    private int awaitIteration(SplitTask root, SplitPoint scope, SearchLimits limits, long startTime) {
+        while (true) {
+            try {
+                return root.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                long elapsed = (System.nanoTime() - startTime) / 1_000_000;
+                if (limits.getMaxTimeMillis() > 0 && elapsed >= limits.getMaxTimeMillis()
+                        || limits.getMaxNodes() > 0 && nodes.sum() >= limits.getMaxNodes()) {
+                    scope.cancel();
+                }
+            } catch (InterruptedException e) {
+                scope.cancel();
+                Thread.currentThread().interrupt();
+                return root.join();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    // Forget a stop() left over from an earlier search, as ChessAI.prepareSearch
+    public void prepareSearch() {
+        stopped = false;
+    }
+
+    // Ask a running search to finish, or the next one if it has not started yet
+    public void stop() {
+        stopped = true;
+        SplitPoint scope = rootScope;
+        if (scope != null) {
+            scope.cancel();
+        }
+    }
+
+    // Called on the searching thread after every completed iteration
+    public void setSearchListener(SearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    int[] getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // A node whose younger brothers are being searched in parallel; holds their common window and best result
+    static final class SplitPoint {
+        private final SplitPoint parent;
+        private final boolean maximizingPlayer;
+        private int alpha;
+        private int beta;
+        private int bestEval;
+        private int bestMove;
+        // Index of bestMove in the node's move order; the eldest brother is 0
+        private int bestIndex;
+        private int[] bestPv;
+        // A younger brother failed high
+        private boolean cutoff;
+        private volatile boolean cancelled;
+
+        SplitPoint(SplitPoint parent, boolean maximizingPlayer, int alpha, int beta, int bestEval, int bestMove, int[] bestPv) {
+            this.parent = parent;
+            this.maximizingPlayer = maximizingPlayer;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.bestEval = bestEval;
+            this.bestMove = bestMove;
+            this.bestPv = bestPv;
+        }
+
+        // Cancelled itself or below a cancelled split point
+        boolean isCancelled() {
+            for (SplitPoint splitPoint = this; splitPoint != null; splitPoint = splitPoint.parent) {
+                if (splitPoint.cancelled) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        synchronized int bestEval() { return bestEval; }
+        synchronized int bestMove() { return bestMove; }
+        synchronized int[] bestPv() { return bestPv; }
+        synchronized boolean isCutoff() { return cutoff; }
+
+        // Results that arrive after a cancellation come from aborted searches and are dropped. Equal results are
+        // decided by the move order, not by which arrived first.
+        synchronized void update(int eval, int move, int index, int[] pv) {
+            if (isCancelled()) {
+                return;
+            }
+            if (maximizingPlayer ? eval > bestEval : eval < bestEval) {
+                bestEval = eval;
+                bestMove = move;
+                bestIndex = index;
+                bestPv = pv;
+            } else if (eval == bestEval && index < bestIndex) {
+                bestMove = move;
+                bestIndex = index;
+                bestPv = pv;
+            }
+            if (maximizingPlayer) {
+                alpha = Math.max(alpha, eval);
+            } else {
+                beta = Math.min(beta, eval);
+            }
+            if (beta <= alpha) {
+                cutoff = true;
+                cancelled = true;
+            }
+        }
+    }
+
+    private final class SplitTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final ChessBoard board;
+        private final int depth;
+        private final int alpha;
+        private final int beta;
+        private final boolean maximizingPlayer;
+        private final int ply;
+        private final int previousMove;
+        // Index of previousMove in the parent's move order
+        private final int index;
+        // The split point this task is a younger brother at, or null for an eldest brother and the root
+        private final SplitPoint splitPoint;
+        // Nearest split point above this node; its cancellation aborts the task
+        private final SplitPoint scope;
+        // Principal variation of the previous iteration while this node is on it, otherwise null
+        private final int[] previousPv;
+        private int bestMove = PackedMove.NONE;
+        // Best line from this node, starting with bestMove
+        private int[] pv = NO_MOVES;
+
+        SplitTask(ChessBoard board, int depth, int alpha, int beta, boolean maximizingPlayer, int ply, int previousMove,
+                  int index, SplitPoint splitPoint, SplitPoint scope, int[] previousPv) {
+            this.board = board;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.maximizingPlayer = maximizingPlayer;
+            this.ply = ply;
+            this.previousMove = previousMove;
+            this.index = index;
+            this.splitPoint = splitPoint;
+            this.scope = scope;
+            this.previousPv = previousPv;
+        }
+
+        @Override
+        protected Integer compute() {
+            int eval = search();
+            if (splitPoint != null) {
+                splitPoint.update(eval, previousMove, index, pv);
+            }
+            return eval;
+        }
+
+        private int search() {
+            if (scope != null && scope.isCancelled()) {
+                return 0;
+            }
+            ChessAI searcher = searchers.get();
+            if (depth < MIN_SPLIT_DEPTH && ply > 0) {
+                int eval = searcher.searchSubtree(board, depth, alpha, beta, maximizingPlayer, ply, previousMove, scope);
+                nodes.add(searcher.getNodes());
+                pv = searcher.subtreePv(ply);
+                return eval;
+            }
+            nodes.increment();
+
+            int[] moves = new int[ChessBoard.MAX_MOVES];
+            int hashMove = previousPv != null && ply < previousPv.length ? previousPv[ply] : PackedMove.NONE;
+            if (hashMove == PackedMove.NONE && ply > 0) {
+                // Off the previous line, a shallower search picks the eldest brother
+                searcher.searchSubtree(board, depth - 2, alpha, beta, maximizingPlayer, ply, previousMove, scope);
+                nodes.add(searcher.getNodes());
+                int[] shallowPv = searcher.subtreePv(ply);
+                hashMove = shallowPv.length > 0 ? shallowPv[0] : PackedMove.NONE;
+            }
+            int moveCount = searcher.orderedMoves(board, maximizingPlayer, moves, ply, previousMove, hashMove);
+            if (moveCount == 0) {
+                return ply > 0 ? searcher.searchSubtree(board, depth, alpha, beta, maximizingPlayer, ply, previousMove, scope) : 0;
+            }
+
+            // Eldest brother first, on this thread and this board, to establish a bound
+            int alpha = this.alpha;
+            int beta = this.beta;
+            board.makeMove(moves[0]);
+            SplitTask eldest = new SplitTask(board, depth - 1, alpha, beta, !maximizingPlayer, ply + 1, moves[0], 0, null, scope,
+                    moves[0] == hashMove ? previousPv : null);
+            int eval = eldest.search();
+            board.unmakeMove(moves[0]);
+            bestMove = moves[0];
+            pv = line(moves[0], eldest.pv);
+            if (maximizingPlayer) {
+                alpha = Math.max(alpha, eval);
+            } else {
+                beta = Math.min(beta, eval);
+            }
+            if (beta <= alpha || moveCount == 1 || scope != null && scope.isCancelled()) {
+                return eval;
+            }
+
+            // Then all younger brothers in parallel, each on its own copy of the board
+            SplitPoint node = new SplitPoint(scope, maximizingPlayer, alpha, beta, eval, moves[0], eldest.pv);
+            List<SplitTask> siblings = new ArrayList<>(moveCount - 1);
+            for (int i = 1; i < moveCount; i++) {
+                ChessBoard child = new ChessBoard(board);
+                child.makeMove(moves[i]);
+                siblings.add(new SplitTask(child, depth - 1, alpha, beta, !maximizingPlayer, ply + 1, moves[i], i, node, node, null));
+            }
+            ForkJoinTask.invokeAll(siblings);
+            bestMove = node.bestMove();
+            pv = line(bestMove, node.bestPv());
+            if (node.isCutoff()) {
+                // Which sibling failed high first, and by how much, depends on the timing; the bound does not
+                return maximizingPlayer ? beta : alpha;
+            }
+            return node.bestEval();
+        }
+    }
+
+    private static int[] line(int move, int[] continuation) {
+        int[] line = new int[continuation.length + 1];
+        line[0] = move;
+        System.arraycopy(continuation, 0, line, 1, continuation.length);
+        return line;
+    }
+}
@@ -0,0 +1,63 @@
+package AI;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cache of pawn-structure scores keyed by ChessBoard.getPawnKey(). Pawns move rarely compared to pieces, so nearly
+// every lookup hits. Entries are (key ^ data, data) pairs written without locks, as in EvalCache.
+public class PawnHashTable {
+    private static final int ENTRY_BYTES = 16;
+    // Marks an occupied entry, so that data is never 0
+    private static final long VALID = 1L << 32;
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] entries;
+    private final int indexMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PawnHashTable(int sizeMb) {
+        int size = Integer.highestOneBit((int) Math.max(1L, Math.min((long) sizeMb * 1024 * 1024 / ENTRY_BYTES, 1 << 26)));
+        entries = new long[size * 2];
+        indexMask = size - 1;
+    }
+
+    // Packs a midgame and an endgame score into entry data
+    public static long pack(int midgame, int endgame) {
+        return VALID | (midgame & 0xFFFFL) | (endgame & 0xFFFFL) << 16;
+    }
+
+    public static int midgame(long data) { return (short) data; }
+    public static int endgame(long data) { return (short) (data >>> 16); }
+
+    // Returns the packed data stored for this key, or 0 if there is none
+    public long probe(long key) {
+        int index = ((int) key & indexMask) * 2;
+        long checksum = (long) LONGS.getOpaque(entries, index);
+        long data = (long) LONGS.getOpaque(entries, index + 1);
+        if ((checksum ^ data) == key && data != 0) {
+            hits.increment();
+            return data;
+        }
+        misses.increment();
+        return 0L;
+    }
+
+    public void store(long key, long data) {
+        int index = ((int) key & indexMask) * 2;
+        LONGS.setOpaque(entries, index, key ^ data);
+        LONGS.setOpaque(entries, index + 1, data);
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            LONGS.setOpaque(entries, i, 0L);
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+}
@@ -0,0 +1,22 @@
+package AI;
+
+// Budget for one search. Whichever of depth, nodes or time runs out first ends it; 0 means no limit.
+public class SearchLimits {
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+
+    public SearchLimits(int maxDepth, long maxNodes, long maxTimeMillis) {
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+    }
+
+    public static SearchLimits depth(int maxDepth) { return new SearchLimits(maxDepth, 0, 0); }
+    public static SearchLimits nodes(long maxNodes) { return new SearchLimits(0, maxNodes, 0); }
+    public static SearchLimits time(long maxTimeMillis) { return new SearchLimits(0, 0, maxTimeMillis); }
+
+    public int getMaxDepth() { return maxDepth; }
+    public long getMaxNodes() { return maxNodes; }
+    public long getMaxTimeMillis() { return maxTimeMillis; }
+}
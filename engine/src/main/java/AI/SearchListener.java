@@ -0,0 +1,21 @@
+package AI;
+
+import Model.PackedMove;
+
+// Progress of a running search, reported on the searching thread after every completed iteration.
+// score is from white's point of view in centipawns (see ChessAI.mateIn for mate scores), pv holds packed moves.
+@FunctionalInterface
+public interface SearchListener {
+    // Prints one line per iteration, as the engine always has
+    SearchListener CONSOLE = (depth, score, nodes, elapsedMillis, pv) -> {
+        StringBuilder line = new StringBuilder();
+        line.append("Depth ").append(depth).append(": ").append(PackedMove.toUci(pv[0])).append(" = ").append(score)
+                .append(" (").append(nodes).append(" nodes, ").append(elapsedMillis).append(" ms) pv");
+        for (int move : pv) {
+            line.append(' ').append(PackedMove.toUci(move));
+        }
+        System.out.println(line);
+    };
+
+    void iterationComplete(int depth, int score, long nodes, long elapsedMillis, int[] pv);
+}
@@ -0,0 +1,9 @@
+package AI;
+
+// How ChessAI spreads a search over its threads
+public enum SearchMode {
+    // Every thread searches the whole tree, sharing the transposition table (the default)
+    LAZY_SMP,
+    // The tree is split between the threads with ParallelSearch
+    FORK_JOIN
+}
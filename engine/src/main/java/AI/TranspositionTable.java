@@ -0,0 +1,110 @@
+package AI;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Fixed-size transposition table kept in direct (off-heap) buffers, so its size never counts against the Java heap;
+// it is bounded by -XX:MaxDirectMemorySize instead.
+//
+// Each bucket holds two 16-byte entries: a depth-preferred slot and an always-replace slot. An entry is the pair
+// (key ^ data, data), written and read without locks. A reader only accepts an entry if the two words XOR back to
+// its own key, so a half-written entry from another thread is seen as a miss rather than as corrupt data.
+public class TranspositionTable {
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_BYTES = 2 * ENTRY_BYTES;
+    private static final int CHUNK_BYTES = 1 << 30; // direct buffers are int-indexed, so large tables are split
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    // data layout: bits 0-25 move, 26-41 score, 42-49 depth, 50-51 bound, 52-57 generation
+    private static final int SCORE_SHIFT = 26;
+    private static final int DEPTH_SHIFT = 42;
+    private static final int BOUND_SHIFT = 50;
+    private static final int GENERATION_SHIFT = 52;
+
+    private final ByteBuffer[] chunks;
+    private final long bucketMask;
+    private final int bucketsPerChunkShift;
+    private volatile int generation = 0;
+
+    public TranspositionTable(int sizeMb) {
+        // Round down to a power of two buckets so that the index is a mask of the key
+        long buckets = Long.highestOneBit(Math.max(1L, (long) sizeMb * 1024 * 1024 / BUCKET_BYTES));
+        long totalBytes = buckets * BUCKET_BYTES;
+        int chunkBytes = (int) Math.min(totalBytes, CHUNK_BYTES);
+        this.bucketMask = buckets - 1;
+        this.bucketsPerChunkShift = Integer.numberOfTrailingZeros(chunkBytes / BUCKET_BYTES);
+        this.chunks = new ByteBuffer[(int) (totalBytes / chunkBytes)];
+        for (int i = 0; i < chunks.length; i++) {
+            // Allocate a little extra so that the 8-byte aligned slice still holds the whole chunk
+            chunks[i] = ByteBuffer.allocateDirect(chunkBytes + 8).alignedSlice(8).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    // Called once per search so that entries from earlier searches lose their claim on the depth-preferred slot
+    public void newSearch() {
+        generation = (generation + 1) & 63;
+    }
+
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int offset = 0; offset + 8 <= chunk.capacity(); offset += 8) {
+                LONGS.setOpaque(chunk, offset, 0L);
+            }
+        }
+    }
+
+    // Returns the packed data of the entry for this key, or 0 if there is none
+    public long probe(long key) {
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunks[(int) (bucket >>> bucketsPerChunkShift)];
+        int offset = (int) ((bucket & ((1L << bucketsPerChunkShift) - 1)) * BUCKET_BYTES);
+        for (int slot = 0; slot < 2; slot++, offset += ENTRY_BYTES) {
+            long checksum = (long) LONGS.getOpaque(chunk, offset);
+            long data = (long) LONGS.getOpaque(chunk, offset + 8);
+            if ((checksum ^ data) == key && data != 0) {
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunks[(int) (bucket >>> bucketsPerChunkShift)];
+        int offset = (int) ((bucket & ((1L << bucketsPerChunkShift) - 1)) * BUCKET_BYTES);
+
+        // The first slot keeps the deepest result of the current search; everything else goes to the second slot
+        long existing = (long) LONGS.getOpaque(chunk, offset + 8);
+        long existingKey = (long) LONGS.getOpaque(chunk, offset) ^ existing;
+        boolean replaceDeep = existing == 0 || existingKey == key || depth >= depth(existing)
+                || generation(existing) != generation;
+        if (!replaceDeep) {
+            offset += ENTRY_BYTES;
+        }
+
+        // Keep the old best move when a re-search of the same position did not find one
+        if (move == 0 && existingKey == key && replaceDeep) {
+            move = move(existing);
+        }
+
+        long data = (move & 0x3FFFFFFL)
+                | (long) (Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, score)) & 0xFFFF) << SCORE_SHIFT
+                | (long) (Math.min(depth, 255) & 0xFF) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) generation << GENERATION_SHIFT;
+        LONGS.setOpaque(chunk, offset, key ^ data);
+        LONGS.setOpaque(chunk, offset + 8, data);
+    }
+
+    public static int move(long data) { return (int) (data & 0x3FFFFFFL); }
+    public static int score(long data) { return (short) (data >>> SCORE_SHIFT); }
+    public static int depth(long data) { return (int) (data >>> DEPTH_SHIFT) & 0xFF; }
+    public static int bound(long data) { return (int) (data >>> BOUND_SHIFT) & 3; }
+    private static int generation(long data) { return (int) (data >>> GENERATION_SHIFT) & 63; }
+}
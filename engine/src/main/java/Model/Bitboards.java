@@ -0,0 +1,127 @@
+package Model;
+
+// Square indexing matches the board array: square = row * 8 + col, so bit 0 is a8 and bit 63 is h1.
+public final class Bitboards {
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_8 = 0xFFL;       // row 0
+    public static final long RANK_1 = 0xFFL << 56; // row 7
+
+    // Ray directions as square index deltas
+    private static final int NORTH = 0, SOUTH = 1, EAST = 2, WEST = 3;
+    private static final int NORTH_EAST = 4, NORTH_WEST = 5, SOUTH_EAST = 6, SOUTH_WEST = 7;
+    private static final int[] ROW_STEP = {-1, 1, 0, 0, -1, -1, 1, 1};
+    private static final int[] COL_STEP = {0, 0, 1, -1, 1, -1, 1, -1};
+    // Rays running towards higher square indices use the lowest blocker, the others the highest
+    private static final boolean[] INCREASING = {false, true, true, false, false, false, true, true};
+
+    private static final long[][] RAYS = new long[8][64];
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64]; // [0] white, [1] black
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            int row = row(sq), col = col(sq);
+            for (int dir = 0; dir < 8; dir++) {
+                long ray = 0L;
+                for (int r = row + ROW_STEP[dir], c = col + COL_STEP[dir]; isOnBoard(r, c); r += ROW_STEP[dir], c += COL_STEP[dir]) {
+                    ray |= bit(r, c);
+                }
+                RAYS[dir][sq] = ray;
+            }
+            KNIGHT_ATTACKS[sq] = steps(row, col, new int[][] {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+            KING_ATTACKS[sq] = steps(row, col, new int[][] {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+            // White pawns move towards row 0, black pawns towards row 7
+            PAWN_ATTACKS[0][sq] = steps(row, col, new int[][] {{-1, -1}, {-1, 1}});
+            PAWN_ATTACKS[1][sq] = steps(row, col, new int[][] {{1, -1}, {1, 1}});
+        }
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                if ((slowRookAttacks(a, 0L) & bit(b)) != 0) {
+                    BETWEEN[a][b] = slowRookAttacks(a, bit(b)) & slowRookAttacks(b, bit(a));
+                    LINE[a][b] = (slowRookAttacks(a, 0L) & slowRookAttacks(b, 0L)) | bit(a) | bit(b);
+                } else if ((slowBishopAttacks(a, 0L) & bit(b)) != 0) {
+                    BETWEEN[a][b] = slowBishopAttacks(a, bit(b)) & slowBishopAttacks(b, bit(a));
+                    LINE[a][b] = (slowBishopAttacks(a, 0L) & slowBishopAttacks(b, 0L)) | bit(a) | bit(b);
+                }
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    private static long steps(int row, int col, int[][] offsets) {
+        long attacks = 0L;
+        for (int[] offset : offsets) {
+            if (isOnBoard(row + offset[0], col + offset[1])) {
+                attacks |= bit(row + offset[0], col + offset[1]);
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(int row, int col) {
+        return row >= 0 && row < 8 && col >= 0 && col < 8;
+    }
+
+    public static int square(int row, int col) { return row * 8 + col; }
+    public static int row(int square) { return square >>> 3; }
+    public static int col(int square) { return square & 7; }
+    public static long bit(int square) { return 1L << square; }
+    public static long bit(int row, int col) { return 1L << square(row, col); }
+
+    // Index of the lowest set bit; callers iterate with "bits &= bits - 1"
+    public static int lowestSquare(long bits) { return Long.numberOfTrailingZeros(bits); }
+
+    public static long knightAttacks(int square) { return KNIGHT_ATTACKS[square]; }
+    public static long kingAttacks(int square) { return KING_ATTACKS[square]; }
+    public static long pawnAttacks(boolean isWhite, int square) { return PAWN_ATTACKS[isWhite ? 0 : 1][square]; }
+
+    // Squares strictly between two squares on a shared rank, file or diagonal; empty if they are not aligned
+    public static long between(int a, int b) { return BETWEEN[a][b]; }
+
+    // The full rank, file or diagonal through two aligned squares; empty if they are not aligned
+    public static long line(int a, int b) { return LINE[a][b]; }
+
+    // Attacks along one ray, stopping at (and including) the first occupied square
+    private static long rayAttacks(int dir, int square, long occupancy) {
+        long ray = RAYS[dir][square];
+        long blockers = ray & occupancy;
+        if (blockers != 0) {
+            int blocker = INCREASING[dir] ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+            ray ^= RAYS[dir][blocker];
+        }
+        return ray;
+    }
+
+    // Ray-walking attack sets, only used to fill the magic tables
+    static long slowBishopAttacks(int square, long occupancy) {
+        return rayAttacks(NORTH_EAST, square, occupancy) | rayAttacks(NORTH_WEST, square, occupancy)
+                | rayAttacks(SOUTH_EAST, square, occupancy) | rayAttacks(SOUTH_WEST, square, occupancy);
+    }
+
+    static long slowRookAttacks(int square, long occupancy) {
+        return rayAttacks(NORTH, square, occupancy) | rayAttacks(SOUTH, square, occupancy)
+                | rayAttacks(EAST, square, occupancy) | rayAttacks(WEST, square, occupancy);
+    }
+
+    // Full slider attack sets in O(1) from the occupancy, see MagicBitboards
+    public static long bishopAttacks(int square, long occupancy) {
+        return MagicBitboards.bishopAttacks(square, occupancy);
+    }
+
+    public static long rookAttacks(int square, long occupancy) {
+        return MagicBitboards.rookAttacks(square, occupancy);
+    }
+
+    public static long queenAttacks(int square, long occupancy) {
+        return MagicBitboards.bishopAttacks(square, occupancy) | MagicBitboards.rookAttacks(square, occupancy);
+    }
+}
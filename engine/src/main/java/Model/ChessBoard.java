@@ -0,0 +1,860 @@
+package Model;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class ChessBoard {
+    // Size of a move buffer for generateMoves; comfortably above the pseudo-legal maximum
+    public static final int MAX_MOVES = 512;
+
+    // One occupancy word per piece type and color, indexed by ChessPiece.ordinal()
+    private final long[] pieceBitboards = new long[12];
+    private long whiteOccupancy;
+    private long blackOccupancy;
+    private long occupancy;
+    // Mailbox mirror of the bitboards so that getPiece stays a single array read
+    private final ChessPiece[] squares = new ChessPiece[64];
+    // Square a pawn skipped with its last double push, or -1
+    private int enPassantSquare = -1;
+    private boolean whiteKingMoved = false;
+    private boolean whiteRookKingSideMoved = false;
+    private boolean whiteRookQueenSideMoved = false;
+    private boolean blackKingMoved = false;
+    private boolean blackRookKingSideMoved = false;
+    private boolean blackRookQueenSideMoved = false;
+    private boolean hasWhiteCastled = false;
+    private boolean hasBlackCastled = false;
+    private boolean whiteToMove = true;
+    // Plies since the last capture or pawn move, and the move number, which goes up after every black move
+    private int halfmoveClock = 0;
+    private int fullmoveNumber = 1;
+    // Zobrist key of pieces, side to move, castling rights and en passant file, kept up to date by every change
+    private long zobristKey;
+    // Zobrist key of the pawns alone, for the pawn hash table
+    private long pawnKey;
+    // Running material plus piece-square totals (white minus black) and game phase, see PieceSquareTables
+    private int midgameScore;
+    private int endgameScore;
+    private int phase;
+    private List<Move> moveHistory;
+    // Castling flags, en passant square, halfmove clock and key saved by makeMove so that unmakeMove can restore them
+    private int[] stateHistory = new int[256];
+    private long[] keyHistory = new long[256];
+    private int stateCount = 0;
+    // Moves of a single piece, for hasAnyLegalMove; a queen has at most 27
+    private final int[] pieceMoves = new int[32];
+
+
+    public ChessBoard() {
+        moveHistory = new ArrayList<>();
+        resetBoard();
+    }
+
+    // Independent copy of a position, e.g. for a search running on another thread
+    public ChessBoard(ChessBoard other) {
+        System.arraycopy(other.pieceBitboards, 0, pieceBitboards, 0, pieceBitboards.length);
+        System.arraycopy(other.squares, 0, squares, 0, squares.length);
+        whiteOccupancy = other.whiteOccupancy;
+        blackOccupancy = other.blackOccupancy;
+        occupancy = other.occupancy;
+        enPassantSquare = other.enPassantSquare;
+        whiteKingMoved = other.whiteKingMoved;
+        whiteRookKingSideMoved = other.whiteRookKingSideMoved;
+        whiteRookQueenSideMoved = other.whiteRookQueenSideMoved;
+        blackKingMoved = other.blackKingMoved;
+        blackRookKingSideMoved = other.blackRookKingSideMoved;
+        blackRookQueenSideMoved = other.blackRookQueenSideMoved;
+        hasWhiteCastled = other.hasWhiteCastled;
+        hasBlackCastled = other.hasBlackCastled;
+        whiteToMove = other.whiteToMove;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+        zobristKey = other.zobristKey;
+        pawnKey = other.pawnKey;
+        midgameScore = other.midgameScore;
+        endgameScore = other.endgameScore;
+        phase = other.phase;
+        moveHistory = new ArrayList<>(other.moveHistory);
+        stateHistory = Arrays.copyOf(other.stateHistory, other.stateHistory.length);
+        keyHistory = Arrays.copyOf(other.keyHistory, other.keyHistory.length);
+        stateCount = other.stateCount;
+    }
+
+    // Snapshot of the position as a 2D array, built from the bitboards
+    public ChessPiece[][] getBoard() {
+        ChessPiece[][] board = new ChessPiece[8][8];
+        for (int row = 0; row < 8; row++) {
+            System.arraycopy(squares, row * 8, board[row], 0, 8);
+        }
+        return board;
+    }
+
+    public long getBitboard(ChessPiece piece) { return pieceBitboards[piece.ordinal()]; }
+    public long getWhiteOccupancy() { return whiteOccupancy; }
+    public long getBlackOccupancy() { return blackOccupancy; }
+    public long getOccupancy() { return occupancy; }
+    public List<Move> getMoveHistory() { return moveHistory; }
+    public boolean isWhiteToMove() { return whiteToMove; }
+    public int getEnPassantSquare() { return enPassantSquare; }
+    public int getHalfmoveClock() { return halfmoveClock; }
+    public int getFullmoveNumber() { return fullmoveNumber; }
+    public long getZobristKey() { return zobristKey; }
+    public long getPawnKey() { return pawnKey; }
+    public int getMidgameScore() { return midgameScore; }
+    public int getEndgameScore() { return endgameScore; }
+    public int getPhase() { return phase; }
+
+    public boolean hasWhiteCastled() { return hasWhiteCastled; }
+
+    public boolean hasBlackCastled() {
+        return hasBlackCastled;
+    }
+
+
+    private void resetBoard() {
+        clear();
+        setState(true, 15, -1);
+
+        // Set up Black pieces
+        ChessPiece[] blackBackRank = {ChessPiece.BLACK_ROOK, ChessPiece.BLACK_KNIGHT, ChessPiece.BLACK_BISHOP, ChessPiece.BLACK_QUEEN,
+                ChessPiece.BLACK_KING, ChessPiece.BLACK_BISHOP, ChessPiece.BLACK_KNIGHT, ChessPiece.BLACK_ROOK};
+        for (int i = 0; i < 8; i++) {
+            putPiece(Bitboards.square(0, i), blackBackRank[i]);
+            putPiece(Bitboards.square(1, i), ChessPiece.BLACK_PAWN);
+        }
+
+        // Set up White pieces
+        ChessPiece[] whiteBackRank = {ChessPiece.WHITE_ROOK, ChessPiece.WHITE_KNIGHT, ChessPiece.WHITE_BISHOP, ChessPiece.WHITE_QUEEN,
+                ChessPiece.WHITE_KING, ChessPiece.WHITE_BISHOP, ChessPiece.WHITE_KNIGHT, ChessPiece.WHITE_ROOK};
+        for (int i = 0; i < 8; i++) {
+            putPiece(Bitboards.square(6, i), ChessPiece.WHITE_PAWN);
+            putPiece(Bitboards.square(7, i), whiteBackRank[i]);
+        }
+    }
+
+    // Empty board, white to move at move 1, no castling rights and no history; Fen fills it in with placePiece,
+    // setState and setClocks
+    void clear() {
+        Arrays.fill(pieceBitboards, 0L);
+        whiteOccupancy = 0L;
+        blackOccupancy = 0L;
+        occupancy = 0L;
+        Arrays.fill(squares, ChessPiece.EMPTY);
+        enPassantSquare = -1;
+        whiteKingMoved = true;
+        whiteRookKingSideMoved = true;
+        whiteRookQueenSideMoved = true;
+        blackKingMoved = true;
+        blackRookKingSideMoved = true;
+        blackRookQueenSideMoved = true;
+        hasWhiteCastled = false;
+        hasBlackCastled = false;
+        whiteToMove = true;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        zobristKey = 0L;
+        pawnKey = 0L;
+        midgameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+        stateCount = 0;
+        moveHistory.clear();
+    }
+
+    void placePiece(int square, ChessPiece piece) {
+        removePiece(square);
+        putPiece(square, piece);
+    }
+
+    // Side to move, castling rights (as in getCastlingRights) and en passant square, keeping the key in sync
+    void setState(boolean whiteToMove, int castlingRights, int enPassantSquare) {
+        zobristKey ^= Zobrist.castlingKey(getCastlingRights()) ^ Zobrist.enPassantKey(this.enPassantSquare) ^ (this.whiteToMove ? 0L : Zobrist.sideKey());
+        whiteKingMoved = (castlingRights & 3) == 0;
+        whiteRookKingSideMoved = (castlingRights & 1) == 0;
+        whiteRookQueenSideMoved = (castlingRights & 2) == 0;
+        blackKingMoved = (castlingRights & 12) == 0;
+        blackRookKingSideMoved = (castlingRights & 4) == 0;
+        blackRookQueenSideMoved = (castlingRights & 8) == 0;
+        this.enPassantSquare = enPassantSquare;
+        this.whiteToMove = whiteToMove;
+        zobristKey ^= Zobrist.castlingKey(getCastlingRights()) ^ Zobrist.enPassantKey(enPassantSquare) ^ (whiteToMove ? 0L : Zobrist.sideKey());
+    }
+
+    void setClocks(int halfmoveClock, int fullmoveNumber) {
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    // Castling rights as bits: 1 white king side, 2 white queen side, 4 black king side, 8 black queen side
+    public int getCastlingRights() {
+        return (!whiteKingMoved && !whiteRookKingSideMoved ? 1 : 0) | (!whiteKingMoved && !whiteRookQueenSideMoved ? 2 : 0)
+                | (!blackKingMoved && !blackRookKingSideMoved ? 4 : 0) | (!blackKingMoved && !blackRookQueenSideMoved ? 8 : 0);
+    }
+
+    // Place a piece on an empty square, keeping the bitboards, the mailbox, the key and the evaluation totals in sync
+    private void putPiece(int square, ChessPiece piece) {
+        long bit = Bitboards.bit(square);
+        squares[square] = piece;
+        zobristKey ^= Zobrist.pieceKey(piece, square);
+        if (piece == ChessPiece.WHITE_PAWN || piece == ChessPiece.BLACK_PAWN) {
+            pawnKey ^= Zobrist.pieceKey(piece, square);
+        }
+        midgameScore += PieceSquareTables.midgame(piece, square);
+        endgameScore += PieceSquareTables.endgame(piece, square);
+        phase += PieceSquareTables.phaseWeight(piece);
+        pieceBitboards[piece.ordinal()] |= bit;
+        if (piece.isWhite()) {
+            whiteOccupancy |= bit;
+        } else {
+            blackOccupancy |= bit;
+        }
+        occupancy |= bit;
+    }
+
+    // Clear a square, returning whatever stood on it
+    private ChessPiece removePiece(int square) {
+        ChessPiece piece = squares[square];
+        if (piece != ChessPiece.EMPTY) {
+            long bit = Bitboards.bit(square);
+            pieceBitboards[piece.ordinal()] &= ~bit;
+            whiteOccupancy &= ~bit;
+            blackOccupancy &= ~bit;
+            occupancy &= ~bit;
+            squares[square] = ChessPiece.EMPTY;
+            zobristKey ^= Zobrist.pieceKey(piece, square);
+            if (piece == ChessPiece.WHITE_PAWN || piece == ChessPiece.BLACK_PAWN) {
+                pawnKey ^= Zobrist.pieceKey(piece, square);
+            }
+            midgameScore -= PieceSquareTables.midgame(piece, square);
+            endgameScore -= PieceSquareTables.endgame(piece, square);
+            phase -= PieceSquareTables.phaseWeight(piece);
+        }
+        return piece;
+    }
+
+    // Method to get a piece from the board
+    public ChessPiece getPiece(int row, int col) { return squares[Bitboards.square(row, col)]; }
+
+    // Method to set a piece on the board
+    public void setPiece(int row, int col, ChessPiece piece) {
+        int square = Bitboards.square(row, col);
+        removePiece(square);
+        if (piece != ChessPiece.EMPTY) {
+            putPiece(square, piece);
+        }
+    }
+
+// Method to check if the piece is the opposite color
+    private boolean isOppositeColor(ChessPiece piece1, ChessPiece piece2) {
+        return (piece1.isWhite() && piece2.isBlack()) || (piece1.isBlack() && piece2.isWhite());
+    }
+
+
+    // One big method to check if a move is valid
+    public boolean isValidMove(int startX, int startY, int endX, int endY) {
+        // Check if the start and end positions are within the board
+        if (!isWithinBoard(startX, startY) || !isWithinBoard(endX, endY)) return false;
+
+        ChessPiece movingPiece = getPiece(startY, startX);
+        if (movingPiece == ChessPiece.EMPTY ||
+                (getPiece(endY, endX) != ChessPiece.EMPTY && !isOppositeColor(movingPiece, getPiece(endY, endX)))) {
+            return false;
+        }
+
+        // Check that the piece can reach the target at all
+        boolean reachable = movingPiece == ChessPiece.WHITE_KING || movingPiece == ChessPiece.BLACK_KING ?
+                moveKing(startX, startY, endX, endY) : isLegalNonKingMove(startX, startY, endX, endY);
+        if (!reachable) return false;
+
+        // Check if the move leaves the king in check, using the pins and checkers of the current position
+        boolean isWhite = movingPiece.isWhite();
+        int kingSquare = findKing(isWhite);
+        long checkers = kingSquare >= 0 ? attackersTo(kingSquare, isWhite, occupancy) : 0L;
+        long pinned = kingSquare >= 0 ? findPinnedPieces(isWhite, kingSquare) : 0L;
+        return isLegalMove(createMove(startX, startY, endX, endY, null), kingSquare, checkers, pinned);
+    }
+
+
+    private boolean isLegalNonKingMove(int startX, int startY, int endX, int endY) {
+        // Similar logic to isValidMove but only for non-king pieces
+        // Do not check for king's check status here
+        ChessPiece movingPiece = getPiece(startY, startX);
+
+        switch (movingPiece) {
+            case WHITE_PAWN:
+            case BLACK_PAWN:
+                return movePawn(startX, startY, endX, endY);
+            case WHITE_KNIGHT:
+            case BLACK_KNIGHT:
+                return moveKnight(startX, startY, endX, endY);
+            case WHITE_BISHOP:
+            case BLACK_BISHOP:
+                return moveBishop(startX, startY, endX, endY);
+            case WHITE_ROOK:
+            case BLACK_ROOK:
+                return moveRook(startX, startY, endX, endY);
+            case WHITE_QUEEN:
+            case BLACK_QUEEN:
+                return moveQueen(startX, startY, endX, endY);
+            // No case for the king as this method is specifically for non-king moves
+            default:
+                return false;
+        }
+    }
+
+    // Enemy pieces (of the side opposite to isWhite) attacking a square, looking back from the square with each piece's attack set
+    private long attackersTo(int square, boolean isWhite, long occupied) {
+        ChessPiece pawn = isWhite ? ChessPiece.BLACK_PAWN : ChessPiece.WHITE_PAWN;
+        ChessPiece knight = isWhite ? ChessPiece.BLACK_KNIGHT : ChessPiece.WHITE_KNIGHT;
+        ChessPiece bishop = isWhite ? ChessPiece.BLACK_BISHOP : ChessPiece.WHITE_BISHOP;
+        ChessPiece rook = isWhite ? ChessPiece.BLACK_ROOK : ChessPiece.WHITE_ROOK;
+        ChessPiece queen = isWhite ? ChessPiece.BLACK_QUEEN : ChessPiece.WHITE_QUEEN;
+        ChessPiece king = isWhite ? ChessPiece.BLACK_KING : ChessPiece.WHITE_KING;
+
+        // A pawn attacks this square if it stands where our own pawn would capture from here
+        return (Bitboards.pawnAttacks(isWhite, square) & pieceBitboards[pawn.ordinal()])
+                | (Bitboards.knightAttacks(square) & pieceBitboards[knight.ordinal()])
+                | (Bitboards.kingAttacks(square) & pieceBitboards[king.ordinal()])
+                | (Bitboards.bishopAttacks(square, occupied) & (pieceBitboards[bishop.ordinal()] | pieceBitboards[queen.ordinal()]))
+                | (Bitboards.rookAttacks(square, occupied) & (pieceBitboards[rook.ordinal()] | pieceBitboards[queen.ordinal()]));
+    }
+
+    // Method to check if a square is under attack by the opponent of isWhite
+    private boolean isSquareUnderAttack(int x, int y, boolean isWhite) {
+        return attackersTo(Bitboards.square(y, x), isWhite, occupancy) != 0;
+    }
+
+    // Square of the king of the given color, or -1 if there is none (shouldn't happen in a valid board)
+    private int findKing(boolean isWhite) {
+        long king = pieceBitboards[(isWhite ? ChessPiece.WHITE_KING : ChessPiece.BLACK_KING).ordinal()];
+        return king != 0 ? Bitboards.lowestSquare(king) : -1;
+    }
+
+    // Whether a side has anything besides king and pawns; without it passing a move can be its best option (zugzwang)
+    public boolean hasNonPawnMaterial(boolean isWhite) {
+        long kingAndPawns = isWhite ? pieceBitboards[ChessPiece.WHITE_KING.ordinal()] | pieceBitboards[ChessPiece.WHITE_PAWN.ordinal()]
+                : pieceBitboards[ChessPiece.BLACK_KING.ordinal()] | pieceBitboards[ChessPiece.BLACK_PAWN.ordinal()];
+        return ((isWhite ? whiteOccupancy : blackOccupancy) & ~kingAndPawns) != 0;
+    }
+
+    // Method to locate the king and check if that square is under attack
+    public boolean isKingInCheck(boolean isWhite) {
+        int kingSquare = findKing(isWhite);
+        return kingSquare >= 0 && attackersTo(kingSquare, isWhite, occupancy) != 0;
+    }
+
+    // Own pieces that are the only blocker between the king and an enemy slider on the same line
+    private long findPinnedPieces(boolean isWhite, int kingSquare) {
+        long enemyRooks = isWhite ? pieceBitboards[ChessPiece.BLACK_ROOK.ordinal()] | pieceBitboards[ChessPiece.BLACK_QUEEN.ordinal()]
+                : pieceBitboards[ChessPiece.WHITE_ROOK.ordinal()] | pieceBitboards[ChessPiece.WHITE_QUEEN.ordinal()];
+        long enemyBishops = isWhite ? pieceBitboards[ChessPiece.BLACK_BISHOP.ordinal()] | pieceBitboards[ChessPiece.BLACK_QUEEN.ordinal()]
+                : pieceBitboards[ChessPiece.WHITE_BISHOP.ordinal()] | pieceBitboards[ChessPiece.WHITE_QUEEN.ordinal()];
+        long snipers = (Bitboards.rookAttacks(kingSquare, 0L) & enemyRooks) | (Bitboards.bishopAttacks(kingSquare, 0L) & enemyBishops);
+        long own = isWhite ? whiteOccupancy : blackOccupancy;
+
+        long pinned = 0L;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long blockers = Bitboards.between(kingSquare, Bitboards.lowestSquare(snipers)) & occupancy;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinned |= blockers & own;
+            }
+        }
+        return pinned;
+    }
+
+
+    private boolean movePawn(int startX, int startY, int endX, int endY) {
+        ChessPiece movingPiece = getPiece(startY, startX);
+        boolean isWhite = movingPiece == ChessPiece.WHITE_PAWN;
+        int from = Bitboards.square(startY, startX);
+        long target = Bitboards.bit(endY, endX);
+        // Check for forward movement without capturing for white and black pawns
+        long singlePush = (isWhite ? Bitboards.bit(from) >>> 8 : Bitboards.bit(from) << 8) & ~occupancy;
+        long doublePush = (isWhite ? (singlePush & Bitboards.RANK_1 >>> 16) >>> 8 : (singlePush & Bitboards.RANK_8 << 16) << 8) & ~occupancy;
+        if (((singlePush | doublePush) & target) != 0) {
+            return true;
+        }
+        // Check for diagonal capturing
+        long enemies = isWhite ? blackOccupancy : whiteOccupancy;
+        if ((Bitboards.pawnAttacks(isWhite, from) & enemies & target) != 0) {
+            return true;
+        }
+
+        // En passant capture logic
+        if (enPassantSquare >= 0 && Bitboards.square(endY, endX) == enPassantSquare) {
+            return (Bitboards.pawnAttacks(isWhite, from) & target) != 0;
+        }
+        return false;
+    }
+
+    private boolean moveKnight(int startX, int startY, int endX, int endY) {
+        return (Bitboards.knightAttacks(Bitboards.square(startY, startX)) & Bitboards.bit(endY, endX)) != 0;
+    }
+
+    private boolean moveBishop(int startX, int startY, int endX, int endY) {
+        // Blockers are already cut out of the attack set
+        return (Bitboards.bishopAttacks(Bitboards.square(startY, startX), occupancy) & Bitboards.bit(endY, endX)) != 0;
+    }
+
+    private boolean moveRook(int startX, int startY, int endX, int endY) {
+        return (Bitboards.rookAttacks(Bitboards.square(startY, startX), occupancy) & Bitboards.bit(endY, endX)) != 0;
+    }
+
+    private boolean moveQueen(int startX, int startY, int endX, int endY) {
+        return (Bitboards.queenAttacks(Bitboards.square(startY, startX), occupancy) & Bitboards.bit(endY, endX)) != 0;
+    }
+
+    private boolean moveKing(int startX, int startY, int endX, int endY) {
+        // Check for castling first
+        if (Math.abs(startX - endX) == 2 && startY == endY) {
+            return canCastle(startX, startY, endX, endY);
+        }
+
+        // Check if the move is one square in any direction; adjacent kings are already caught by the check test
+        return (Bitboards.kingAttacks(Bitboards.square(startY, startX)) & Bitboards.bit(endY, endX)) != 0;
+    }
+
+    private boolean isWithinBoard(int x, int y) {
+        return x >= 0 && x < 8 && y >= 0 && y < 8;
+    }
+
+    // Check if a pawn reaches the end of the board
+    public boolean isPawnPromotion(int startX, int startY, int endX, int endY) {
+        ChessPiece piece = getPiece(startY, startX);
+        return (piece == ChessPiece.WHITE_PAWN && endY == 0) || (piece == ChessPiece.BLACK_PAWN && endY == 7);
+    }
+
+    private ChessPiece chooseAIPromotionPiece() {
+        // This method decides what piece a black pawn should be promoted to.
+        // The simplest strategy is to always promote to a queen, but you can implement more complex logic if desired.
+        return ChessPiece.BLACK_QUEEN;
+    }
+
+    public void movePiece(int startX, int startY, int endX, int endY) {
+        movePiece(startX, startY, endX, endY, null);
+    }
+
+    // Play a move in the game, recording it in the move history; promotionPiece may be null for the default
+    public void movePiece(int startX, int startY, int endX, int endY, ChessPiece promotionPiece) {
+        int move = createMove(startX, startY, endX, endY, promotionPiece);
+        makeMove(move);
+        moveHistory.add(Move.fromPacked(move));
+    }
+
+    // Build a move from plain coordinates, setting the special-move flags the way the generator would
+    private int createMove(int startX, int startY, int endX, int endY, ChessPiece promotionPiece) {
+        ChessPiece movingPiece = getPiece(startY, startX);
+        ChessPiece capturedPiece = getPiece(endY, endX);
+        int flags = 0;
+
+        // Check for castling
+        if ((movingPiece == ChessPiece.WHITE_KING || movingPiece == ChessPiece.BLACK_KING) && Math.abs(startX - endX) == 2) {
+            flags |= PackedMove.CASTLING;
+        }
+
+        // Check for en passant capture
+        if ((movingPiece == ChessPiece.WHITE_PAWN || movingPiece == ChessPiece.BLACK_PAWN)
+                && startX != endX && capturedPiece == ChessPiece.EMPTY) {
+            flags |= PackedMove.EN_PASSANT;
+            capturedPiece = getPiece(startY, endX);
+        }
+
+        // Check for pawn promotion
+        if (isPawnPromotion(startX, startY, endX, endY)) {
+            if (promotionPiece == null) {
+                promotionPiece = movingPiece == ChessPiece.BLACK_PAWN ? chooseAIPromotionPiece() : ChessPiece.WHITE_QUEEN;
+            }
+        } else {
+            promotionPiece = ChessPiece.EMPTY;
+        }
+        return PackedMove.encode(Bitboards.square(startY, startX), Bitboards.square(endY, endX), movingPiece, capturedPiece, promotionPiece, flags);
+    }
+
+    private boolean canCastle(int startX, int startY, int endX, int endY){
+        ChessPiece movingPiece = getPiece(startY, startX);
+        boolean isWhite = movingPiece == ChessPiece.WHITE_KING;
+
+        // Check for castling move (two squares horizontally from the king's home square)
+        if (startX != 4 || startY != (isWhite ? 7 : 0) || Math.abs(startX - endX) != 2 || startY != endY) {
+            return false;
+        }
+        return canCastle(isWhite, endX > startX);
+    }
+
+    private boolean canCastle(boolean isWhite, boolean kingSide) {
+        int row = isWhite ? 7 : 0;
+        ChessPiece king = isWhite ? ChessPiece.WHITE_KING : ChessPiece.BLACK_KING;
+        ChessPiece rook = isWhite ? ChessPiece.WHITE_ROOK : ChessPiece.BLACK_ROOK;
+
+        // Check that neither the king nor this rook has moved, and that both are still on their squares
+        boolean kingMoved = isWhite ? whiteKingMoved : blackKingMoved;
+        boolean rookMoved = isWhite ?
+                (kingSide ? whiteRookKingSideMoved : whiteRookQueenSideMoved) :
+                (kingSide ? blackRookKingSideMoved : blackRookQueenSideMoved);
+        if (kingMoved || rookMoved || getPiece(row, 4) != king || getPiece(row, kingSide ? 7 : 0) != rook) {
+            return false;
+        }
+
+        // Path clearance between king and rook
+        long between = kingSide ? Bitboards.bit(row, 5) | Bitboards.bit(row, 6)
+                : Bitboards.bit(row, 1) | Bitboards.bit(row, 2) | Bitboards.bit(row, 3);
+        if ((occupancy & between) != 0) {
+            return false;
+        }
+
+        // The king may not castle out of or through check; the destination is covered by the legality test
+        return !isSquareUnderAttack(4, row, isWhite) && !isSquareUnderAttack(kingSide ? 5 : 3, row, isWhite);
+    }
+
+    public boolean isCheckmate(boolean isWhite) {
+        return isKingInCheck(isWhite) && !hasAnyLegalMove(isWhite);
+    }
+
+    public boolean isStalemate(boolean isWhite) {
+        return !isKingInCheck(isWhite) && !hasAnyLegalMove(isWhite);
+    }
+
+    // Only the side to move can be out of moves
+    public boolean isGameOver() {
+        return !hasAnyLegalMove(whiteToMove);
+    }
+
+    // Stops at the first legal move instead of generating them all. Castling is never needed: whenever castling
+    // is legal, so is the king's step towards the rook.
+    public boolean hasAnyLegalMove(boolean isWhite) {
+        int kingSquare = findKing(isWhite);
+        long checkers = kingSquare >= 0 ? attackersTo(kingSquare, isWhite, occupancy) : 0L;
+        long pinned = kingSquare >= 0 ? findPinnedPieces(isWhite, kingSquare) : 0L;
+        for (long pieces = isWhite ? whiteOccupancy : blackOccupancy; pieces != 0; pieces &= pieces - 1) {
+            int square = Bitboards.lowestSquare(pieces);
+            int count = generateMovesForPiece(squares[square], square, pieceMoves, 0, false);
+            for (int i = 0; i < count; i++) {
+                if (isLegalMove(pieceMoves[i], kingSquare, checkers, pinned)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public List<Move> getAllPossibleMoves(boolean isWhiteTurn) {
+        int[] moves = new int[MAX_MOVES];
+        int moveCount = generateMoves(isWhiteTurn, moves);
+        List<Move> possibleMoves = new ArrayList<>(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            possibleMoves.add(Move.fromPacked(moves[i]));
+        }
+        return possibleMoves;
+    }
+
+    // Fill the buffer (at least MAX_MOVES long) with the legal moves of one side and return how many there are
+    public int generateMoves(boolean isWhiteTurn, int[] moves) {
+        return generateMoves(isWhiteTurn, moves, false);
+    }
+
+    // Only the legal captures and promotions, for the quiescence search
+    public int generateCaptures(boolean isWhiteTurn, int[] moves) {
+        return generateMoves(isWhiteTurn, moves, true);
+    }
+
+    private int generateMoves(boolean isWhiteTurn, int[] moves, boolean capturesOnly) {
+        int count = 0;
+        for (long pieces = isWhiteTurn ? whiteOccupancy : blackOccupancy; pieces != 0; pieces &= pieces - 1) {
+            int square = Bitboards.lowestSquare(pieces);
+            count = generateMovesForPiece(squares[square], square, moves, count, capturesOnly);
+        }
+        if (!capturesOnly) {
+            count = generateCastlingMoves(isWhiteTurn, moves, count);
+        }
+
+        // Legality is checked once per generated move against this node's checkers and pins, compacting the buffer in place
+        int kingSquare = findKing(isWhiteTurn);
+        long checkers = kingSquare >= 0 ? attackersTo(kingSquare, isWhiteTurn, occupancy) : 0L;
+        long pinned = kingSquare >= 0 ? findPinnedPieces(isWhiteTurn, kingSquare) : 0L;
+        int legalCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (isLegalMove(moves[i], kingSquare, checkers, pinned)) {
+                moves[legalCount++] = moves[i];
+            }
+        }
+        return legalCount;
+    }
+
+    // Pseudo-legal moves of one piece: only the squares it can actually reach, own pieces excluded
+    private int generateMovesForPiece(ChessPiece piece, int square, int[] moves, int count, boolean capturesOnly) {
+        long targets;
+        switch (piece) {
+            case WHITE_PAWN:
+            case BLACK_PAWN:
+                return generatePawnMoves(piece, square, moves, count, capturesOnly);
+            case WHITE_KNIGHT:
+            case BLACK_KNIGHT:
+                targets = Bitboards.knightAttacks(square);
+                break;
+            case WHITE_BISHOP:
+            case BLACK_BISHOP:
+                targets = Bitboards.bishopAttacks(square, occupancy);
+                break;
+            case WHITE_ROOK:
+            case BLACK_ROOK:
+                targets = Bitboards.rookAttacks(square, occupancy);
+                break;
+            case WHITE_QUEEN:
+            case BLACK_QUEEN:
+                targets = Bitboards.queenAttacks(square, occupancy);
+                break;
+            case WHITE_KING:
+            case BLACK_KING:
+                targets = Bitboards.kingAttacks(square);
+                break;
+            default:
+                return count;
+        }
+        if (capturesOnly) {
+            targets &= piece.isWhite() ? blackOccupancy : whiteOccupancy;
+        } else {
+            targets &= piece.isWhite() ? ~whiteOccupancy : ~blackOccupancy;
+        }
+        for (; targets != 0; targets &= targets - 1) {
+            int target = Bitboards.lowestSquare(targets);
+            moves[count++] = PackedMove.encode(square, target, piece, squares[target], ChessPiece.EMPTY, 0);
+        }
+        return count;
+    }
+
+    private static final ChessPiece[] WHITE_PROMOTIONS = {ChessPiece.WHITE_QUEEN, ChessPiece.WHITE_ROOK, ChessPiece.WHITE_BISHOP, ChessPiece.WHITE_KNIGHT};
+    private static final ChessPiece[] BLACK_PROMOTIONS = {ChessPiece.BLACK_QUEEN, ChessPiece.BLACK_ROOK, ChessPiece.BLACK_BISHOP, ChessPiece.BLACK_KNIGHT};
+
+    private int generatePawnMoves(ChessPiece pawn, int square, int[] moves, int count, boolean capturesOnly) {
+        boolean isWhite = pawn == ChessPiece.WHITE_PAWN;
+        long from = Bitboards.bit(square);
+
+        // Pushes onto empty squares, the double push only from the starting row, and diagonal captures
+        long singlePush = (isWhite ? from >>> 8 : from << 8) & ~occupancy;
+        long doublePush = (isWhite ? (singlePush & Bitboards.RANK_1 >>> 16) >>> 8 : (singlePush & Bitboards.RANK_8 << 16) << 8) & ~occupancy;
+        long captures = Bitboards.pawnAttacks(isWhite, square) & (isWhite ? blackOccupancy : whiteOccupancy);
+        if (capturesOnly) {
+            // Quiet pushes only count when they promote
+            singlePush &= Bitboards.RANK_8 | Bitboards.RANK_1;
+            doublePush = 0L;
+        }
+
+        for (long targets = singlePush | doublePush | captures; targets != 0; targets &= targets - 1) {
+            int target = Bitboards.lowestSquare(targets);
+            int targetRow = Bitboards.row(target);
+            if (targetRow == 0 || targetRow == 7) {
+                // One move per promotion piece, queen first
+                for (ChessPiece promotionPiece : isWhite ? WHITE_PROMOTIONS : BLACK_PROMOTIONS) {
+                    moves[count++] = PackedMove.encode(square, target, pawn, squares[target], promotionPiece, 0);
+                }
+            } else {
+                moves[count++] = PackedMove.encode(square, target, pawn, squares[target], ChessPiece.EMPTY, 0);
+            }
+        }
+
+        // En passant capture onto the square the enemy pawn skipped
+        if (enPassantSquare >= 0 && (Bitboards.pawnAttacks(isWhite, square) & Bitboards.bit(enPassantSquare)) != 0) {
+            ChessPiece enemyPawn = isWhite ? ChessPiece.BLACK_PAWN : ChessPiece.WHITE_PAWN;
+            moves[count++] = PackedMove.encode(square, enPassantSquare, pawn, enemyPawn, ChessPiece.EMPTY, PackedMove.EN_PASSANT);
+        }
+        return count;
+    }
+
+    private int generateCastlingMoves(boolean isWhite, int[] moves, int count) {
+        int kingSquare = Bitboards.square(isWhite ? 7 : 0, 4);
+        ChessPiece king = isWhite ? ChessPiece.WHITE_KING : ChessPiece.BLACK_KING;
+        if (canCastle(isWhite, true)) {
+            moves[count++] = PackedMove.encode(kingSquare, kingSquare + 2, king, ChessPiece.EMPTY, ChessPiece.EMPTY, PackedMove.CASTLING);
+        }
+        if (canCastle(isWhite, false)) {
+            moves[count++] = PackedMove.encode(kingSquare, kingSquare - 2, king, ChessPiece.EMPTY, ChessPiece.EMPTY, PackedMove.CASTLING);
+        }
+        return count;
+    }
+
+    // A pseudo-legal move is legal if it does not leave the mover's own king in check
+    private boolean isLegalMove(int move, int kingSquare, long checkers, long pinned) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        boolean isWhite = PackedMove.piece(move).isWhite();
+
+        // The king may not step onto an attacked square; it is lifted off the board so it cannot shield its own target
+        if (from == kingSquare) {
+            return attackersTo(to, isWhite, occupancy ^ Bitboards.bit(from)) == 0;
+        }
+
+        // En passant removes two pawns from one rank, which pins cannot describe, so it is simply tried out
+        if (PackedMove.isEnPassant(move)) {
+            makeMove(move);
+            boolean legal = !isKingInCheck(isWhite);
+            unmakeMove(move);
+            return legal;
+        }
+
+        if (checkers != 0) {
+            // In double check only the king can move
+            if ((checkers & (checkers - 1)) != 0) {
+                return false;
+            }
+            // Otherwise the move has to capture the checker or block its line
+            long evasions = checkers | Bitboards.between(kingSquare, Bitboards.lowestSquare(checkers));
+            if ((evasions & Bitboards.bit(to)) == 0) {
+                return false;
+            }
+        }
+
+        // A pinned piece may only move along the line through its king
+        return (pinned & Bitboards.bit(from)) == 0 || (Bitboards.line(kingSquare, from) & Bitboards.bit(to)) != 0;
+    }
+
+    // Pack the flags that applyMove may change into one int for the undo stack
+    private int packState() {
+        return (whiteKingMoved ? 1 : 0) | (whiteRookKingSideMoved ? 2 : 0) | (whiteRookQueenSideMoved ? 4 : 0)
+                | (blackKingMoved ? 8 : 0) | (blackRookKingSideMoved ? 16 : 0) | (blackRookQueenSideMoved ? 32 : 0)
+                | (hasWhiteCastled ? 64 : 0) | (hasBlackCastled ? 128 : 0)
+                | (enPassantSquare + 1) << 8 | halfmoveClock << 16;
+    }
+
+    private void restoreState(int state) {
+        whiteKingMoved = (state & 1) != 0;
+        whiteRookKingSideMoved = (state & 2) != 0;
+        whiteRookQueenSideMoved = (state & 4) != 0;
+        blackKingMoved = (state & 8) != 0;
+        blackRookKingSideMoved = (state & 16) != 0;
+        blackRookQueenSideMoved = (state & 32) != 0;
+        hasWhiteCastled = (state & 64) != 0;
+        hasBlackCastled = (state & 128) != 0;
+        enPassantSquare = ((state >>> 8) & 0xFF) - 1;
+        halfmoveClock = state >>> 16;
+    }
+
+    // Any move from or onto a king or rook home square ends the matching castling right
+    private void updateCastlingFlags(int square) {
+        switch (square) {
+            case 60: whiteKingMoved = true; break;          // e1
+            case 63: whiteRookKingSideMoved = true; break;  // h1
+            case 56: whiteRookQueenSideMoved = true; break; // a1
+            case 4: blackKingMoved = true; break;           // e8
+            case 7: blackRookKingSideMoved = true; break;   // h8
+            case 0: blackRookQueenSideMoved = true; break;  // a8
+            default: break;
+        }
+    }
+
+
+    // Object adapters over makeMove/unmakeMove; applyMove records the captured piece on the move for undoMove
+    public void applyMove(Move move) {
+        int to = Bitboards.square(move.getEndY(), move.getEndX());
+        ChessPiece capturedPiece = move.isEnPassantMove() ? squares[Bitboards.square(move.getStartY(), move.getEndX())] : squares[to];
+        move.setCapturedPiece(capturedPiece != ChessPiece.EMPTY ? capturedPiece : null);
+        makeMove(move.toPacked());
+    }
+
+    public void undoMove(Move move) {
+        unmakeMove(move.toPacked());
+    }
+
+    public void makeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        ChessPiece movedPiece = PackedMove.piece(move);
+
+        if (stateCount == stateHistory.length) {
+            stateHistory = Arrays.copyOf(stateHistory, stateCount * 2);
+            keyHistory = Arrays.copyOf(keyHistory, stateCount * 2);
+        }
+        keyHistory[stateCount] = zobristKey;
+        stateHistory[stateCount++] = packState();
+        zobristKey ^= Zobrist.castlingKey(getCastlingRights()) ^ Zobrist.enPassantKey(enPassantSquare);
+
+        // Remove the captured piece; in en passant it sits beside the start square, not on the target
+        if (PackedMove.isEnPassant(move)) {
+            removePiece(Bitboards.square(Bitboards.row(from), Bitboards.col(to)));
+        } else if (PackedMove.isCapture(move)) {
+            removePiece(to);
+        }
+
+        removePiece(from);
+        putPiece(to, PackedMove.isPromotion(move) ? PackedMove.promotion(move) : movedPiece);
+
+        if (PackedMove.isCastling(move)) {
+            // Handle rook movement in castling
+            boolean kingSide = to > from;
+            putPiece(kingSide ? from + 1 : from - 1, removePiece(kingSide ? from + 3 : from - 4));
+
+            // Update castling flags
+            if (movedPiece == ChessPiece.WHITE_KING) {
+                hasWhiteCastled = true;
+            } else {
+                hasBlackCastled = true;
+            }
+        }
+
+        updateCastlingFlags(from);
+        updateCastlingFlags(to);
+
+        // Only a double pawn push leaves an en passant square behind
+        boolean isPawnMove = movedPiece == ChessPiece.WHITE_PAWN || movedPiece == ChessPiece.BLACK_PAWN;
+        enPassantSquare = isPawnMove && Math.abs(from - to) == 16 ? (from + to) / 2 : -1;
+
+        halfmoveClock = isPawnMove || PackedMove.isCapture(move) ? 0 : halfmoveClock + 1;
+        if (!whiteToMove) {
+            fullmoveNumber++;
+        }
+        whiteToMove = !whiteToMove;
+        zobristKey ^= Zobrist.castlingKey(getCastlingRights()) ^ Zobrist.enPassantKey(enPassantSquare) ^ Zobrist.sideKey();
+    }
+
+    // Pass the turn without moving, for null-move pruning. Only the en passant square and the side to move change.
+    public void makeNullMove() {
+        if (stateCount == stateHistory.length) {
+            stateHistory = Arrays.copyOf(stateHistory, stateCount * 2);
+            keyHistory = Arrays.copyOf(keyHistory, stateCount * 2);
+        }
+        keyHistory[stateCount] = zobristKey;
+        stateHistory[stateCount++] = packState();
+        zobristKey ^= Zobrist.enPassantKey(enPassantSquare) ^ Zobrist.sideKey();
+        enPassantSquare = -1;
+        whiteToMove = !whiteToMove;
+    }
+
+    public void unmakeNullMove() {
+        whiteToMove = !whiteToMove;
+        restoreState(stateHistory[--stateCount]);
+        zobristKey = keyHistory[stateCount];
+    }
+
+    public void unmakeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+
+        // Restore the moved piece to its original position, reverting a promotion to the pawn
+        removePiece(to);
+        putPiece(from, PackedMove.piece(move));
+
+        // Restore the captured piece
+        if (PackedMove.isEnPassant(move)) {
+            putPiece(Bitboards.square(Bitboards.row(from), Bitboards.col(to)), PackedMove.captured(move));
+        } else if (PackedMove.isCapture(move)) {
+            putPiece(to, PackedMove.captured(move));
+        }
+
+        if (PackedMove.isCastling(move)) {
+            // Handle rook movement in reverse for castling
+            boolean kingSide = to > from;
+            putPiece(kingSide ? from + 3 : from - 4, removePiece(kingSide ? from + 1 : from - 1));
+        }
+
+        whiteToMove = !whiteToMove;
+        if (!whiteToMove) {
+            fullmoveNumber--;
+        }
+        restoreState(stateHistory[--stateCount]);
+        zobristKey = keyHistory[stateCount];
+    }
+}
+
+
+
+
+// alpha beta pruning, order the moves based on how likely they are to be good moves
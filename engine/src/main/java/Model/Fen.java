@@ -0,0 +1,246 @@
+package Model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Forsyth-Edwards Notation: "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1".
+// Ranks are listed from 8 down to 1, which is the board's row order.
+//
+// Loading and writing go straight between the text and the board without allocating, so that bulk ingest of
+// positions into a reused board is not dominated by parsing. Text comes either as a CharSequence or as ASCII bytes
+// in a ByteBuffer; both share one parser, which reads its input through charAt.
+public final class Fen {
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_CHARS = "PNBRQKpnbrqk"; // in ChessPiece order
+    private static final ChessPiece[] PIECES = ChessPiece.values();
+
+    private Fen() {
+    }
+
+    public static ChessBoard parse(CharSequence fen) {
+        ChessBoard board = new ChessBoard();
+        load(board, fen);
+        return board;
+    }
+
+    // Replace the position on the board; throws IllegalArgumentException for malformed input.
+    // The move clocks are optional and default to 0 and 1, so EPD lines, which end in operations instead, load too.
+    public static void load(ChessBoard board, CharSequence fen) {
+        load(board, fen, null, 0, fen.length());
+    }
+
+    // Like load(ChessBoard, CharSequence) for the line starting at the buffer's position, up to a line break or the
+    // limit. The position is moved past the line break even if the line is malformed, so that a caller reading a
+    // file of positions can skip bad lines.
+    public static void load(ChessBoard board, ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = start;
+        while (end < buffer.limit() && buffer.get(end) != '\n') {
+            end++;
+        }
+        buffer.position(end < buffer.limit() ? end + 1 : end);
+        int length = end - start;
+        if (length > 0 && buffer.get(start + length - 1) == '\r') {
+            length--;
+        }
+        load(board, null, buffer, start, length);
+    }
+
+    // Exactly one of text and bytes is given; bytes are read from offset on
+    private static void load(ChessBoard board, CharSequence text, ByteBuffer bytes, int offset, int length) {
+        board.clear();
+        int i = 0;
+
+        // Piece placement
+        int square = 0;
+        for (; i < length && charAt(text, bytes, offset, i) != ' '; i++) {
+            char c = charAt(text, bytes, offset, i);
+            if (c == '/') {
+                if (square % 8 != 0) {
+                    throw error("Incomplete rank", text, bytes, offset, length);
+                }
+            } else if (c >= '1' && c <= '8') {
+                square += c - '0';
+            } else {
+                int piece = PIECE_CHARS.indexOf(c);
+                if (piece < 0 || square >= 64) {
+                    throw error("Bad piece placement", text, bytes, offset, length);
+                }
+                board.placePiece(square++, PIECES[piece]);
+            }
+        }
+        if (square != 64) {
+            throw error("Bad piece placement", text, bytes, offset, length);
+        }
+
+        // Side to move
+        i++;
+        char side = i < length ? charAt(text, bytes, offset, i) : ' ';
+        if (side != 'w' && side != 'b') {
+            throw error("Bad side to move", text, bytes, offset, length);
+        }
+        boolean whiteToMove = side == 'w';
+        i += 2;
+
+        // Castling rights, as in ChessBoard.getCastlingRights
+        int castlingRights = 0;
+        for (; i < length && charAt(text, bytes, offset, i) != ' '; i++) {
+            switch (charAt(text, bytes, offset, i)) {
+                case 'K': castlingRights |= 1; break;
+                case 'Q': castlingRights |= 2; break;
+                case 'k': castlingRights |= 4; break;
+                case 'q': castlingRights |= 8; break;
+                case '-': break;
+                default: throw error("Bad castling rights", text, bytes, offset, length);
+            }
+        }
+
+        // En passant square; missing fields default to none
+        int enPassantSquare = -1;
+        i++;
+        if (i + 1 < length && charAt(text, bytes, offset, i) >= 'a' && charAt(text, bytes, offset, i) <= 'h') {
+            char file = charAt(text, bytes, offset, i);
+            char rank = charAt(text, bytes, offset, i + 1);
+            if (rank < '1' || rank > '8') {
+                throw error("Bad en passant square", text, bytes, offset, length);
+            }
+            enPassantSquare = Bitboards.square('8' - rank, file - 'a');
+        }
+        board.setState(whiteToMove, castlingRights, enPassantSquare);
+
+        // Halfmove clock and fullmove number, if the next two fields are numbers
+        while (i < length && charAt(text, bytes, offset, i) != ' ') {
+            i++;
+        }
+        int halfmoveClock = 0;
+        int fullmoveNumber = 1;
+        int halfmoveStart = i + 1;
+        int halfmoveEnd = numberEnd(text, bytes, offset, length, halfmoveStart);
+        if (halfmoveEnd > halfmoveStart) {
+            halfmoveClock = number(text, bytes, offset, halfmoveStart, halfmoveEnd);
+            int fullmoveEnd = numberEnd(text, bytes, offset, length, halfmoveEnd + 1);
+            if (fullmoveEnd > halfmoveEnd + 1) {
+                fullmoveNumber = Math.max(1, number(text, bytes, offset, halfmoveEnd + 1, fullmoveEnd));
+            }
+        }
+        board.setClocks(halfmoveClock, fullmoveNumber);
+    }
+
+    // End of the run of digits from start on
+    private static int numberEnd(CharSequence text, ByteBuffer bytes, int offset, int length, int start) {
+        int end = start;
+        while (end < length && end - start < 9 && charAt(text, bytes, offset, end) >= '0' && charAt(text, bytes, offset, end) <= '9') {
+            end++;
+        }
+        return end;
+    }
+
+    private static int number(CharSequence text, ByteBuffer bytes, int offset, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + charAt(text, bytes, offset, i) - '0';
+        }
+        return value;
+    }
+
+    private static char charAt(CharSequence text, ByteBuffer bytes, int offset, int i) {
+        return text != null ? text.charAt(i) : (char) (bytes.get(offset + i) & 0xFF);
+    }
+
+    // Only malformed input pays for building the message
+    private static IllegalArgumentException error(String problem, CharSequence text, ByteBuffer bytes, int offset, int length) {
+        String fen;
+        if (text != null) {
+            fen = text.toString();
+        } else {
+            byte[] line = new byte[length];
+            bytes.get(offset, line);
+            fen = new String(line, StandardCharsets.US_ASCII);
+        }
+        return new IllegalArgumentException(problem + " in FEN: " + fen);
+    }
+
+    public static String toFen(ChessBoard board) {
+        return write(board, new StringBuilder(90)).toString();
+    }
+
+    // Appends the position to out and returns it
+    public static StringBuilder write(ChessBoard board, StringBuilder out) {
+        write(board, out, null);
+        return out;
+    }
+
+    // Puts the position as ASCII at the buffer's position, without a line break
+    public static void write(ChessBoard board, ByteBuffer out) {
+        write(board, null, out);
+    }
+
+    // Exactly one of text and bytes is given
+    private static void write(ChessBoard board, StringBuilder text, ByteBuffer bytes) {
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                ChessPiece piece = board.getPiece(row, col);
+                if (piece == ChessPiece.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    put(text, bytes, (char) ('0' + empty));
+                    empty = 0;
+                }
+                put(text, bytes, PIECE_CHARS.charAt(piece.ordinal()));
+            }
+            if (empty > 0) {
+                put(text, bytes, (char) ('0' + empty));
+            }
+            if (row < 7) {
+                put(text, bytes, '/');
+            }
+        }
+
+        put(text, bytes, ' ');
+        put(text, bytes, board.isWhiteToMove() ? 'w' : 'b');
+
+        put(text, bytes, ' ');
+        int castlingRights = board.getCastlingRights();
+        if (castlingRights == 0) {
+            put(text, bytes, '-');
+        }
+        for (int i = 0; i < 4; i++) {
+            if ((castlingRights & 1 << i) != 0) {
+                put(text, bytes, "KQkq".charAt(i));
+            }
+        }
+
+        put(text, bytes, ' ');
+        int enPassantSquare = board.getEnPassantSquare();
+        if (enPassantSquare < 0) {
+            put(text, bytes, '-');
+        } else {
+            put(text, bytes, (char) ('a' + Bitboards.col(enPassantSquare)));
+            put(text, bytes, (char) ('8' - Bitboards.row(enPassantSquare)));
+        }
+
+        put(text, bytes, ' ');
+        putNumber(text, bytes, board.getHalfmoveClock());
+        put(text, bytes, ' ');
+        putNumber(text, bytes, board.getFullmoveNumber());
+    }
+
+    private static void put(StringBuilder text, ByteBuffer bytes, char c) {
+        if (text != null) {
+            text.append(c);
+        } else {
+            bytes.put((byte) c);
+        }
+    }
+
+    private static void putNumber(StringBuilder text, ByteBuffer bytes, int value) {
+        if (value >= 10) {
+            putNumber(text, bytes, value / 10);
+        }
+        put(text, bytes, (char) ('0' + value % 10));
+    }
+}
@@ -0,0 +1,157 @@
+package Model;
+
+// Fancy magic bitboards: the relevant blockers of a slider are multiplied by a per-square magic
+// number and the top bits of the product index a precomputed attack table.
+// The magic numbers below were found with the seeded search in findMagic; it only runs again
+// if a stored number no longer fits its square.
+final class MagicBitboards {
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0050500500080100L, 0x0000020080040080L, 0x0C10010400420810L, 0x1040008200005104L,
+            0x01808240088004A0L, 0x0882804004802000L, 0x0880402001001100L, 0x2000210409001000L,
+            0x2000480131001500L, 0x0000800400800200L, 0x000002380C001003L, 0x4600084882000431L,
+            0x0080002000504000L, 0x0300500020004002L, 0x0040408200220011L, 0x0010040008004040L,
+            0x0000080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x20C0090901061081L, 0x0024040094030104L, 0x8210810200290200L, 0x0011040484620000L,
+            0x0081104002221000L, 0x0009012011001350L, 0x0081010802400380L, 0x0000420210010408L,
+            0x0008105002280050L, 0x0001028484040044L, 0x2A00880810408804L, 0x7020022282000100L,
+            0x0084040420100A50L, 0x000401010840E000L, 0x2020020210420888L, 0x0008084202012010L,
+            0x2010400810018800L, 0x0445122008020840L, 0x0804100808002008L, 0x0008002104110100L,
+            0x0061005820080800L, 0x2001000200820100L, 0x480C210084010800L, 0x3004442500480420L,
+            0x1010102240048100L, 0x00182009084220A3L, 0x8803090A10004205L, 0x0208080040202020L,
+            0x000C044084010040L, 0x00A1010002004106L, 0x6008210020640202L, 0x1600902112860801L,
+            0x00042008C1220200L, 0x010C042002440140L, 0x5022080200040820L, 0x0402004042940100L,
+            0x0860108400008020L, 0x000C080022021000L, 0x0264080652822100L, 0x4005031221010401L,
+            0x0004502410008400L, 0x000500B010A20400L, 0x0415094050080800L, 0x080000201800A104L,
+            0x4022A80304000110L, 0x4012140802028020L, 0x40200104010100A0L, 0x12810806008B0C41L,
+            0x0020441008080000L, 0x2002120084045420L, 0x0704020062080002L, 0x0000001084040001L,
+            0x0322200891240200L, 0xF040200210024800L, 0x0140824832008042L, 0x000210020A004602L,
+            0x0083042805141020L, 0x002C12009A011000L, 0x0041A00044140400L, 0x00004004020A0202L,
+            0x0000140010020210L, 0x2864160811012200L, 0x2060080841082A17L, 0xA010041108003100L
+    };
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+
+    private static final long[] ROOK_ATTACKS;
+    private static final long[] BISHOP_ATTACKS;
+
+    private static long seed = 0x9E3779B97F4A7C15L;
+
+    static {
+        ROOK_ATTACKS = new long[tableSize(true)];
+        BISHOP_ATTACKS = new long[tableSize(false)];
+        for (int square = 0; square < 64; square++) {
+            initSquare(square, true);
+            initSquare(square, false);
+        }
+    }
+
+    private MagicBitboards() {
+    }
+
+    static long rookAttacks(int square, long occupancy) {
+        int index = (int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_ATTACKS[ROOK_OFFSETS[square] + index];
+    }
+
+    static long bishopAttacks(int square, long occupancy) {
+        int index = (int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[square] + index];
+    }
+
+    // Blockers on the board edge never change the attack set, so they are left out of the mask
+    private static long relevantMask(int square, boolean isRook) {
+        long rankMask = Bitboards.RANK_8 << (8 * Bitboards.row(square));
+        long fileMask = Bitboards.FILE_A << Bitboards.col(square);
+        long edges = ((Bitboards.RANK_8 | Bitboards.RANK_1) & ~rankMask) | ((Bitboards.FILE_A | Bitboards.FILE_H) & ~fileMask);
+        long attacks = isRook ? Bitboards.slowRookAttacks(square, 0L) : Bitboards.slowBishopAttacks(square, 0L);
+        return attacks & ~edges;
+    }
+
+    private static int tableSize(boolean isRook) {
+        int size = 0;
+        long[] masks = isRook ? ROOK_MASKS : BISHOP_MASKS;
+        int[] shifts = isRook ? ROOK_SHIFTS : BISHOP_SHIFTS;
+        int[] offsets = isRook ? ROOK_OFFSETS : BISHOP_OFFSETS;
+        for (int square = 0; square < 64; square++) {
+            masks[square] = relevantMask(square, isRook);
+            shifts[square] = 64 - Long.bitCount(masks[square]);
+            offsets[square] = size;
+            size += 1 << Long.bitCount(masks[square]);
+        }
+        return size;
+    }
+
+    private static void initSquare(int square, boolean isRook) {
+        long mask = isRook ? ROOK_MASKS[square] : BISHOP_MASKS[square];
+        int shift = isRook ? ROOK_SHIFTS[square] : BISHOP_SHIFTS[square];
+        int offset = isRook ? ROOK_OFFSETS[square] : BISHOP_OFFSETS[square];
+        long[] table = isRook ? ROOK_ATTACKS : BISHOP_ATTACKS;
+        int size = 1 << (64 - shift);
+
+        // Enumerate every blocker subset of the mask (carry-rippler) with its reference attack set
+        long[] occupancies = new long[size];
+        long[] attacks = new long[size];
+        long subset = 0L;
+        for (int i = 0; i < size; i++) {
+            occupancies[i] = subset;
+            attacks[i] = isRook ? Bitboards.slowRookAttacks(square, subset) : Bitboards.slowBishopAttacks(square, subset);
+            subset = (subset - mask) & mask;
+        }
+
+        long[] magics = isRook ? ROOK_MAGICS : BISHOP_MAGICS;
+        if (!fillTable(table, offset, shift, magics[square], occupancies, attacks)) {
+            magics[square] = findMagic(table, offset, shift, mask, occupancies, attacks);
+        }
+    }
+
+    // Fill the table slice for one square; fails on two subsets with different attacks sharing an index
+    private static boolean fillTable(long[] table, int offset, int shift, long magic, long[] occupancies, long[] attacks) {
+        boolean[] used = new boolean[occupancies.length];
+        for (int i = 0; i < occupancies.length; i++) {
+            int index = (int) ((occupancies[i] * magic) >>> shift);
+            if (!used[index]) {
+                used[index] = true;
+                table[offset + index] = attacks[i];
+            } else if (table[offset + index] != attacks[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Try sparse random candidates until one maps every subset without a destructive collision
+    private static long findMagic(long[] table, int offset, int shift, long mask, long[] occupancies, long[] attacks) {
+        while (true) {
+            long magic = nextRandom() & nextRandom() & nextRandom();
+            if (Long.bitCount((mask * magic) >>> 56) >= 6 && fillTable(table, offset, shift, magic, occupancies, attacks)) {
+                return magic;
+            }
+        }
+    }
+
+    // xorshift64*, deterministic for a fixed seed
+    private static long nextRandom() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,46 @@
+package Model;
+
+// A move packed into a single int so that the search can keep moves in preallocated int[] buffers.
+// bits 0-5 from square, 6-11 to square, 12-15 moving piece, 16-19 captured piece, 20-23 promotion piece,
+// 24 castling, 25 en passant. Pieces are ChessPiece ordinals, with EMPTY meaning none.
+public final class PackedMove {
+    public static final int NONE = 0; // never a real move: its captured and promotion fields are not EMPTY
+    public static final int CASTLING = 1 << 24;
+    public static final int EN_PASSANT = 1 << 25;
+
+    private static final ChessPiece[] PIECES = ChessPiece.values();
+    private static final int EMPTY = ChessPiece.EMPTY.ordinal();
+
+    private PackedMove() {
+    }
+
+    public static int encode(int from, int to, ChessPiece piece, ChessPiece captured, ChessPiece promotion, int flags) {
+        return from | to << 6 | piece.ordinal() << 12 | captured.ordinal() << 16 | promotion.ordinal() << 20 | flags;
+    }
+
+    public static int from(int move) { return move & 63; }
+    public static int to(int move) { return (move >>> 6) & 63; }
+    public static ChessPiece piece(int move) { return PIECES[(move >>> 12) & 15]; }
+    public static ChessPiece captured(int move) { return PIECES[(move >>> 16) & 15]; }
+    public static ChessPiece promotion(int move) { return PIECES[(move >>> 20) & 15]; }
+
+    public static boolean isCapture(int move) { return ((move >>> 16) & 15) != EMPTY; }
+    public static boolean isPromotion(int move) { return ((move >>> 20) & 15) != EMPTY; }
+    public static boolean isCastling(int move) { return (move & CASTLING) != 0; }
+    public static boolean isEnPassant(int move) { return (move & EN_PASSANT) != 0; }
+
+    // Coordinate notation as in "e2e4" or "e7e8q"
+    public static String toUci(int move) {
+        StringBuilder text = new StringBuilder(5);
+        appendSquare(text, from(move));
+        appendSquare(text, to(move));
+        if (isPromotion(move)) {
+            text.append("nbrq".charAt(promotion(move).ordinal() % 6 - 1));
+        }
+        return text.toString();
+    }
+
+    private static void appendSquare(StringBuilder text, int square) {
+        text.append((char) ('a' + Bitboards.col(square))).append((char) ('8' - Bitboards.row(square)));
+    }
+}
@@ -0,0 +1,184 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Counts the leaf nodes of the legal move tree to a fixed depth, to check the move generator against known
+// counts and to measure its speed.
+//
+// Usage: Perft [-divide] [-hash mb] [-threads n] depth [fen]
+//        Perft -verify [-hash mb] [-threads n]
+public class Perft {
+    // Reference positions with their published node counts
+    private static final String[][] REFERENCE_POSITIONS = {
+            {Fen.START_POSITION, "5", "4865609"},
+            {"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", "4", "4085603"}, // Kiwipete
+            {"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", "6", "11030083"},
+            {"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", "5", "15833292"},
+            {"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", "4", "2103487"},
+            {"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", "4", "3894594"},
+    };
+
+    private final int[][] moveStack;
+    private final PerftHash hash;
+
+    // hashMb of 0 runs without a hash table
+    public Perft(int maxDepth, int hashMb) {
+        moveStack = new int[Math.max(maxDepth, 1)][ChessBoard.MAX_MOVES];
+        hash = hashMb > 0 ? new PerftHash(hashMb) : null;
+    }
+
+    public long perft(ChessBoard board, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        boolean isWhite = board.isWhiteToMove();
+        int[] moves = moveStack[depth - 1];
+        int moveCount = board.generateMoves(isWhite, moves);
+        if (depth == 1) {
+            return moveCount; // Bulk counting: the generator only produces legal moves
+        }
+        if (hash != null) {
+            long nodes = hash.probe(board.getZobristKey(), depth);
+            if (nodes >= 0) {
+                return nodes;
+            }
+        }
+        long nodes = 0;
+        for (int i = 0; i < moveCount; i++) {
+            board.makeMove(moves[i]);
+            nodes += perft(board, depth - 1);
+            board.unmakeMove(moves[i]);
+        }
+        if (hash != null) {
+            hash.store(board.getZobristKey(), depth, nodes);
+        }
+        return nodes;
+    }
+
+    // Per root move counts, in generation order
+    public static long[] divide(ChessBoard board, int depth, int[] rootMoves, int hashMb, int threads) throws InterruptedException {
+        int rootCount = board.generateMoves(board.isWhiteToMove(), rootMoves);
+        long[] counts = new long[rootCount];
+        if (threads <= 1) {
+            Perft perft = new Perft(depth, hashMb);
+            for (int i = 0; i < rootCount; i++) {
+                board.makeMove(rootMoves[i]);
+                counts[i] = perft.perft(board, depth - 1);
+                board.unmakeMove(rootMoves[i]);
+            }
+            return counts;
+        }
+
+        // Root moves are split across threads, each with its own board copy and hash table
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ThreadLocal<Perft> perfts = ThreadLocal.withInitial(() -> new Perft(depth, hashMb / threads));
+        try {
+            List<Future<Long>> results = new ArrayList<>(rootCount);
+            for (int i = 0; i < rootCount; i++) {
+                ChessBoard child = new ChessBoard(board);
+                child.makeMove(rootMoves[i]);
+                results.add(executor.submit(() -> perfts.get().perft(child, depth - 1)));
+            }
+            for (int i = 0; i < rootCount; i++) {
+                counts[i] = results.get(i).get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft worker failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return counts;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        boolean divide = false;
+        boolean verify = false;
+        int hashMb = 0;
+        int threads = 1;
+        int argIndex = 0;
+        for (; argIndex < args.length && args[argIndex].startsWith("-"); argIndex++) {
+            switch (args[argIndex]) {
+                case "-divide": divide = true; break;
+                case "-verify": verify = true; break;
+                case "-hash": hashMb = Integer.parseInt(args[++argIndex]); break;
+                case "-threads": threads = Integer.parseInt(args[++argIndex]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[argIndex]);
+            }
+        }
+
+        if (verify) {
+            boolean allPassed = true;
+            for (String[] position : REFERENCE_POSITIONS) {
+                long expected = Long.parseLong(position[2]);
+                long nodes = run(position[0], Integer.parseInt(position[1]), false, hashMb, threads);
+                System.out.println((nodes == expected ? "OK   " : "FAIL ") + position[0] + " expected " + expected);
+                allPassed &= nodes == expected;
+            }
+            System.exit(allPassed ? 0 : 1);
+        }
+
+        if (argIndex >= args.length) {
+            System.out.println("Usage: Perft [-divide] [-hash mb] [-threads n] depth [fen] | Perft -verify [-hash mb] [-threads n]");
+            return;
+        }
+        int depth = Integer.parseInt(args[argIndex++]);
+        String fen = argIndex < args.length ? String.join(" ", List.of(args).subList(argIndex, args.length)) : Fen.START_POSITION;
+        run(fen, depth, divide, hashMb, threads);
+    }
+
+    private static long run(String fen, int depth, boolean divide, int hashMb, int threads) throws InterruptedException {
+        ChessBoard board = Fen.parse(fen);
+        int[] rootMoves = new int[ChessBoard.MAX_MOVES];
+        long start = System.nanoTime();
+        long[] counts = depth > 0 ? divide(board, depth, rootMoves, hashMb, threads) : new long[0];
+        long elapsed = System.nanoTime() - start;
+
+        long nodes = depth > 0 ? 0 : 1;
+        for (int i = 0; i < counts.length; i++) {
+            nodes += counts[i];
+            if (divide) {
+                System.out.println(PackedMove.toUci(rootMoves[i]) + ": " + counts[i]);
+            }
+        }
+        System.out.printf("depth %d nodes %d time %d ms nps %d%n", depth, nodes, elapsed / 1_000_000,
+                elapsed > 0 ? nodes * 1_000_000_000L / elapsed : 0);
+        return nodes;
+    }
+
+    // Node counts by position and depth; the depth is mixed into the key so that one table serves all depths
+    private static final class PerftHash {
+        private final long[] keys;
+        private final long[] counts;
+        private final int mask;
+
+        PerftHash(int sizeMb) {
+            int size = Integer.highestOneBit((int) Math.max(1L, Math.min((long) sizeMb * 1024 * 1024 / 16, 1 << 26)));
+            keys = new long[size];
+            counts = new long[size];
+            mask = size - 1;
+        }
+
+        // Returns the stored count, or -1
+        long probe(long key, int depth) {
+            long hashKey = key ^ depthKey(depth);
+            int index = (int) hashKey & mask;
+            return keys[index] == hashKey ? counts[index] : -1;
+        }
+
+        void store(long key, int depth, long nodes) {
+            long hashKey = key ^ depthKey(depth);
+            int index = (int) hashKey & mask;
+            keys[index] = hashKey;
+            counts[index] = nodes;
+        }
+
+        private static long depthKey(int depth) {
+            return depth * 0x9E3779B97F4A7C15L;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package Model;
+
+// Material plus piece-square values in centipawns, one set for the middlegame and one for the endgame.
+// Tables are written from white's side with rank 8 first, so they read like the board and index like
+// the squares (a8 = 0); black uses the mirrored square and the negated value, so that summing the
+// entries of all pieces gives a white-relative score.
+public final class PieceSquareTables {
+    // Game phase of the full set of pieces; the evaluation blends from midgame at TOTAL_PHASE to endgame at 0
+    public static final int TOTAL_PHASE = 24;
+
+    private static final int[] MATERIAL = {100, 320, 330, 500, 900, 0};
+    private static final int[] PHASE_WEIGHT = {0, 1, 1, 2, 4, 0};
+
+    private static final int[] PAWN_MG = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            10,  10,  20,  30,  30,  20,  10,  10,
+             5,   5,  10,  25,  25,  10,   5,   5,
+             0,   0,   0,  20,  20,   0,   0,   0,
+             5,  -5, -10,   0,   0, -10,  -5,   5,
+             5,  10,  10, -20, -20,  10,  10,   5,
+             0,   0,   0,   0,   0,   0,   0,   0};
+    // In the endgame a pawn is worth more the closer it gets to promotion
+    private static final int[] PAWN_EG = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            80,  80,  80,  80,  80,  80,  80,  80,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            30,  30,  30,  30,  30,  30,  30,  30,
+            20,  20,  20,  20,  20,  20,  20,  20,
+            10,  10,  10,  10,  10,  10,  10,  10,
+            10,  10,  10,  10,  10,  10,  10,  10,
+             0,   0,   0,   0,   0,   0,   0,   0};
+    private static final int[] KNIGHT = {
+           -50, -40, -30, -30, -30, -30, -40, -50,
+           -40, -20,   0,   0,   0,   0, -20, -40,
+           -30,   0,  10,  15,  15,  10,   0, -30,
+           -30,   5,  15,  20,  20,  15,   5, -30,
+           -30,   0,  15,  20,  20,  15,   0, -30,
+           -30,   5,  10,  15,  15,  10,   5, -30,
+           -40, -20,   0,   5,   5,   0, -20, -40,
+           -50, -40, -30, -30, -30, -30, -40, -50};
+    private static final int[] BISHOP = {
+           -20, -10, -10, -10, -10, -10, -10, -20,
+           -10,   0,   0,   0,   0,   0,   0, -10,
+           -10,   0,   5,  10,  10,   5,   0, -10,
+           -10,   5,   5,  10,  10,   5,   5, -10,
+           -10,   0,  10,  10,  10,  10,   0, -10,
+           -10,  10,  10,  10,  10,  10,  10, -10,
+           -10,   5,   0,   0,   0,   0,   5, -10,
+           -20, -10, -10, -10, -10, -10, -10, -20};
+    private static final int[] ROOK = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+             5,  10,  10,  10,  10,  10,  10,   5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+             0,   0,   0,   5,   5,   0,   0,   0};
+    private static final int[] QUEEN = {
+           -20, -10, -10,  -5,  -5, -10, -10, -20,
+           -10,   0,   0,   0,   0,   0,   0, -10,
+           -10,   0,   5,   5,   5,   5,   0, -10,
+            -5,   0,   5,   5,   5,   5,   0,  -5,
+             0,   0,   5,   5,   5,   5,   0,  -5,
+           -10,   5,   5,   5,   5,   5,   0, -10,
+           -10,   0,   5,   0,   0,   0,   0, -10,
+           -20, -10, -10,  -5,  -5, -10, -10, -20};
+    // The king hides behind its pawns while there are pieces to attack it, and joins the game once they are gone
+    private static final int[] KING_MG = {
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -20, -30, -30, -40, -40, -30, -30, -20,
+           -10, -20, -20, -20, -20, -20, -20, -10,
+            20,  20,   0,   0,   0,   0,  20,  20,
+            20,  30,  10,   0,   0,  10,  30,  20};
+    private static final int[] KING_EG = {
+           -50, -40, -30, -20, -20, -30, -40, -50,
+           -30, -20, -10,   0,   0, -10, -20, -30,
+           -30, -10,  20,  30,  30,  20, -10, -30,
+           -30, -10,  30,  40,  40,  30, -10, -30,
+           -30, -10,  30,  40,  40,  30, -10, -30,
+           -30, -10,  20,  30,  30,  20, -10, -30,
+           -30, -30,   0,   0,   0,   0, -30, -30,
+           -50, -30, -30, -30, -30, -30, -30, -50};
+
+    // Signed, white-relative values indexed by ChessPiece ordinal and square
+    private static final int[][] MIDGAME = new int[12][64];
+    private static final int[][] ENDGAME = new int[12][64];
+
+    static {
+        int[][] midgame = {PAWN_MG, KNIGHT, BISHOP, ROOK, QUEEN, KING_MG};
+        int[][] endgame = {PAWN_EG, KNIGHT, BISHOP, ROOK, QUEEN, KING_EG};
+        for (int type = 0; type < 6; type++) {
+            for (int square = 0; square < 64; square++) {
+                MIDGAME[type][square] = MATERIAL[type] + midgame[type][square];
+                ENDGAME[type][square] = MATERIAL[type] + endgame[type][square];
+                // Black pieces follow the white ones in ChessPiece; flipping the row mirrors the square
+                MIDGAME[type + 6][square ^ 56] = -MIDGAME[type][square];
+                ENDGAME[type + 6][square ^ 56] = -ENDGAME[type][square];
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    public static int midgame(ChessPiece piece, int square) { return MIDGAME[piece.ordinal()][square]; }
+    public static int endgame(ChessPiece piece, int square) { return ENDGAME[piece.ordinal()][square]; }
+    public static int phaseWeight(ChessPiece piece) { return PHASE_WEIGHT[piece.ordinal() % 6]; }
+
+    // Plain material value, the same for both colors; 0 for the king and empty squares
+    public static int materialValue(ChessPiece piece) {
+        return piece == ChessPiece.EMPTY ? 0 : MATERIAL[piece.ordinal() % 6];
+    }
+}
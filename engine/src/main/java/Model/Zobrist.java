@@ -0,0 +1,43 @@
+package Model;
+
+import java.util.SplittableRandom;
+
+// Random keys for Zobrist hashing. A position key is the XOR of the keys of everything in it, so a
+// move updates it by XOR-ing out what changed and XOR-ing in the new state.
+public final class Zobrist {
+    private static final long[][] PIECE_KEYS = new long[12][64];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[8];
+    private static final long SIDE_KEY;
+
+    static {
+        // Fixed seed so that keys, and anything stored by key, are the same on every run
+        SplittableRandom random = new SplittableRandom(0x5EED_C4E55L);
+        for (long[] keys : PIECE_KEYS) {
+            for (int square = 0; square < 64; square++) {
+                keys[square] = random.nextLong();
+            }
+        }
+        for (int rights = 1; rights < 16; rights++) {
+            CASTLING_KEYS[rights] = random.nextLong();
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT_KEYS[file] = random.nextLong();
+        }
+        SIDE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long pieceKey(ChessPiece piece, int square) { return PIECE_KEYS[piece.ordinal()][square]; }
+
+    // Keyed by the four castling rights as bits; no rights hashes to 0
+    public static long castlingKey(int castlingRights) { return CASTLING_KEYS[castlingRights]; }
+
+    // Only the file of the en passant square matters; no square hashes to 0
+    public static long enPassantKey(int enPassantSquare) { return enPassantSquare >= 0 ? EN_PASSANT_KEYS[Bitboards.col(enPassantSquare)] : 0L; }
+
+    // XOR-ed in when black is to move
+    public static long sideKey() { return SIDE_KEY; }
+}
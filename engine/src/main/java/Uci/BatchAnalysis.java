@@ -0,0 +1,202 @@
+package Uci;
+
+import AI.ChessAI;
+import AI.SearchLimits;
+import AI.SearchListener;
+import AI.TranspositionTable;
+import Model.ChessBoard;
+import Model.Fen;
+import Model.Move;
+import Model.PackedMove;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Offline analysis of many positions. A reader thread streams an EPD or FEN file line by line and hands each position
+// to a fixed pool of search threads, each with its own ChessAI. The results are written in input order by taking the
+// pending results from a bounded queue; once the queue is full the reader waits, so memory use stays flat however
+// large the input is.
+//
+// Usage: BatchAnalysis [-threads n] [-hash mb] [-depth d] [-nodes n] [-movetime ms] input output
+// Each output line is the input line, a tab, and
+//        bestmove <move> score cp <x> | mate <y> depth <d> nodes <n> time <ms> pv <move1> ... <movei>
+public class BatchAnalysis {
+    private static final int DEFAULT_DEPTH = 8;
+    private static final int DEFAULT_HASH_MB = 16; // per search thread
+    // Positions queued or being searched per search thread before the reader has to wait for the writer
+    private static final int PENDING_PER_THREAD = 4;
+    // Marks the end of the input in the queue of pending results
+    private static final Future<String> END = CompletableFuture.completedFuture(null);
+
+    private final ExecutorService searchThreads;
+    private final ThreadLocal<Analyzer> analyzer;
+    private final BlockingQueue<Future<String>> pending;
+    private final LongAdder totalNodes = new LongAdder();
+
+    public BatchAnalysis(int threads, int hashMb, SearchLimits limits) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        searchThreads = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-search-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        analyzer = ThreadLocal.withInitial(() -> new Analyzer(hashMb, limits));
+        pending = new ArrayBlockingQueue<>(threads * PENDING_PER_THREAD);
+    }
+
+    // Analyzes every non-blank line of the input; returns the number of positions written
+    public long run(BufferedReader in, BufferedWriter out) throws IOException, InterruptedException {
+        Thread reader = new Thread(() -> readPositions(in), "batch-reader");
+        reader.setDaemon(true);
+        reader.start();
+        long positions = 0;
+        try {
+            for (Future<String> result = pending.take(); result != END; result = pending.take()) {
+                out.write(result.get());
+                out.newLine();
+                positions++;
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            reader.interrupt();
+            searchThreads.shutdownNow();
+            out.flush();
+        }
+        return positions;
+    }
+
+    public long getTotalNodes() {
+        return totalNodes.sum();
+    }
+
+    private void readPositions(BufferedReader in) {
+        Future<String> last = END;
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String position = line.trim();
+                if (!position.isEmpty()) {
+                    pending.put(searchThreads.submit(() -> analyzer.get().analyze(position)));
+                }
+            }
+        } catch (IOException e) {
+            last = CompletableFuture.failedFuture(new UncheckedIOException(e));
+        } catch (InterruptedException e) {
+            return; // The writer gave up
+        }
+        try {
+            pending.put(last);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One engine per search thread. The transposition table carries over between positions; it is aged by every
+    // new search, so stale entries from unrelated positions are replaced first.
+    private final class Analyzer implements SearchListener {
+        private final ChessAI ai;
+        private final SearchLimits limits;
+        // Reloaded for every position
+        private final ChessBoard board = new ChessBoard();
+        private int depth;
+        private int score;
+        private int[] pv = new int[0];
+
+        Analyzer(int hashMb, SearchLimits limits) {
+            this.limits = limits;
+            ai = new ChessAI(DEFAULT_DEPTH, new TranspositionTable(hashMb));
+            ai.setUseOpeningBook(false);
+            ai.setSearchListener(this);
+        }
+
+        @Override
+        public void iterationComplete(int depth, int score, long nodes, long elapsedMillis, int[] pv) {
+            this.depth = depth;
+            this.score = score;
+            this.pv = pv;
+        }
+
+        String analyze(String position) {
+            StringBuilder result = new StringBuilder(position).append('\t');
+            try {
+                Fen.load(board, position);
+            } catch (IllegalArgumentException e) {
+                return result.append("error ").append(e.getMessage()).toString();
+            }
+            boolean isWhite = board.isWhiteToMove();
+            depth = 0;
+            score = 0;
+            pv = new int[0];
+            long start = System.nanoTime();
+            Move bestMove = ai.findBestMove(board, isWhite, limits);
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            long nodes = ai.getNodes();
+            totalNodes.add(nodes);
+
+            if (bestMove == null) {
+                // No legal moves: mated or stalemated
+                result.append("bestmove 0000").append(board.isKingInCheck(isWhite) ? " score mate 0" : " score cp 0");
+            } else {
+                result.append("bestmove ").append(PackedMove.toUci(bestMove.toPacked()));
+                UciEngine.appendScore(result, score, isWhite);
+            }
+            result.append(" depth ").append(depth).append(" nodes ").append(nodes).append(" time ").append(elapsed);
+            UciEngine.appendPv(result, pv);
+            return result.toString();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int hashMb = DEFAULT_HASH_MB;
+        int depth = 0;
+        long nodes = 0;
+        long moveTime = 0;
+        int argIndex = 0;
+        for (; argIndex < args.length && args[argIndex].startsWith("-"); argIndex++) {
+            switch (args[argIndex]) {
+                case "-threads": threads = Integer.parseInt(args[++argIndex]); break;
+                case "-hash": hashMb = Integer.parseInt(args[++argIndex]); break;
+                case "-depth": depth = Integer.parseInt(args[++argIndex]); break;
+                case "-nodes": nodes = Long.parseLong(args[++argIndex]); break;
+                case "-movetime": moveTime = Long.parseLong(args[++argIndex]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[argIndex]);
+            }
+        }
+        if (args.length - argIndex != 2) {
+            System.out.println("Usage: BatchAnalysis [-threads n] [-hash mb] [-depth d] [-nodes n] [-movetime ms] input output");
+            return;
+        }
+        if (depth == 0 && nodes == 0 && moveTime == 0) {
+            depth = DEFAULT_DEPTH;
+        }
+
+        BatchAnalysis analysis = new BatchAnalysis(Math.max(1, threads), hashMb, new SearchLimits(depth, nodes, moveTime));
+        long start = System.nanoTime();
+        long positions;
+        try (BufferedReader in = Files.newBufferedReader(Path.of(args[argIndex]), StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(Path.of(args[argIndex + 1]), StandardCharsets.UTF_8)) {
+            positions = analysis.run(in, out);
+        }
+        long elapsed = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        System.out.println(positions + " positions, " + analysis.getTotalNodes() + " nodes, " + elapsed + " ms, "
+                + analysis.getTotalNodes() * 1000 / elapsed + " nps");
+    }
+}
@@ -0,0 +1,388 @@
+package Uci;
+
+import AI.ChessAI;
+import AI.OpeningBook;
+import AI.SearchLimits;
+import AI.SearchMode;
+import AI.TranspositionTable;
+import Model.ChessBoard;
+import Model.Fen;
+import Model.Move;
+import Model.PackedMove;
+import Model.PolyglotKey;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Universal Chess Interface over stdin/stdout, so that match runners and chess GUIs can drive the engine.
+// Commands are read on the calling thread; each "go" searches on its own thread, which streams "info" lines
+// and finishes with "bestmove". Infinite and ponder searches hold their bestmove back until "stop" or "ponderhit".
+public class UciEngine {
+    private static final String NAME = "chessbot";
+    private static final int DEFAULT_HASH_MB = 32;
+    private static final int MAX_HASH_MB = 4096;
+    private static final int MAX_THREADS = 256;
+    // Only used by ChessAI.findBestMove without limits, which the UCI front-end never calls
+    private static final int DEFAULT_DEPTH = 6;
+    // Moves left to plan for when the GUI sends no "movestogo", and the time kept back for communication lag
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final long MOVE_OVERHEAD_MS = 50;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "uci-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ChessBoard board = Fen.parse(Fen.START_POSITION);
+    private int hashMb = DEFAULT_HASH_MB;
+    private int threads = 1;
+    private SearchMode searchMode = SearchMode.LAZY_SMP;
+    // OwnBook plays from BookFile, or from the built-in lines if no file is set. BookRandom64 optionally names a file of
+    // random numbers to key the book with instead of Polyglot's standard table.
+    private boolean ownBook = false;
+    private String bookFile = "";
+    private String random64File = "";
+    private OpeningBook openingBook = OpeningBook.defaultBook();
+    private ChessAI ai;
+
+    private Thread searchThread;
+    // Side to move at the root; the search plays its moves on the board itself
+    private volatile boolean searchIsWhite;
+    // Guarded by this: set while an infinite or ponder search may not report its bestmove yet
+    private boolean holdBestMove;
+    // Time budget to switch to on "ponderhit", and the pending stop it schedules
+    private long ponderMoveTime;
+    private ScheduledFuture<?> stopTimer;
+
+    public UciEngine(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+        createEngine();
+    }
+
+    public static void main(String[] args) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        new UciEngine(in, System.out).run();
+    }
+
+    // Reads commands until "quit" or the end of the input
+    public void run() throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens[0].equals("quit")) {
+                break;
+            }
+            handle(tokens);
+        }
+        stopSearch();
+        timer.shutdownNow();
+    }
+
+    private void handle(String[] tokens) {
+        switch (tokens[0]) {
+            case "uci":
+                send("id name " + NAME);
+                send("id author " + NAME + " developers");
+                send("option name Hash type spin default " + DEFAULT_HASH_MB + " min 1 max " + MAX_HASH_MB);
+                send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                send("option name SearchMode type combo default LazySMP var LazySMP var ForkJoin");
+                send("option name Ponder type check default false");
+                send("option name OwnBook type check default false");
+                send("option name BookFile type string default <empty>");
+                send("option name BookRandom64 type string default <empty>");
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "setoption":
+                stopSearch();
+                setOption(tokens);
+                break;
+            case "ucinewgame":
+                stopSearch();
+                ai.clear();
+                break;
+            case "position":
+                stopSearch();
+                setPosition(tokens);
+                break;
+            case "go":
+                stopSearch();
+                go(tokens);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "ponderhit":
+                ponderHit();
+                break;
+            default:
+                break; // Unknown commands are ignored, as the protocol asks
+        }
+    }
+
+    private void createEngine() {
+        if (ai != null) {
+            ai.setSearchMode(SearchMode.LAZY_SMP); // Shuts down the fork/join threads of the engine being replaced
+        }
+        ai = new ChessAI(DEFAULT_DEPTH, new TranspositionTable(hashMb));
+        ai.setThreads(threads);
+        ai.setSearchMode(searchMode);
+        ai.setOpeningBook(openingBook);
+        ai.setUseOpeningBook(ownBook);
+        ai.setSearchListener(this::sendInfo);
+    }
+
+    // setoption name <id> [value <x>]
+    private void setOption(String[] tokens) {
+        String name = valueOf(tokens, "name", "value");
+        String value = valueOf(tokens, "value", null);
+        try {
+            if (name.equalsIgnoreCase("Hash")) {
+                hashMb = Math.max(1, Math.min(Integer.parseInt(value), MAX_HASH_MB));
+                createEngine();
+            } else if (name.equalsIgnoreCase("Threads")) {
+                threads = Math.max(1, Math.min(Integer.parseInt(value), MAX_THREADS));
+                ai.setThreads(threads);
+            } else if (name.equalsIgnoreCase("SearchMode")) {
+                searchMode = value.equalsIgnoreCase("ForkJoin") ? SearchMode.FORK_JOIN : SearchMode.LAZY_SMP;
+                ai.setSearchMode(searchMode);
+            } else if (name.equalsIgnoreCase("OwnBook")) {
+                ownBook = Boolean.parseBoolean(value);
+                ai.setUseOpeningBook(ownBook);
+            } else if (name.equalsIgnoreCase("BookFile")) {
+                bookFile = value.equals("<empty>") ? "" : value;
+                loadOpeningBook();
+            } else if (name.equalsIgnoreCase("BookRandom64")) {
+                random64File = value.equals("<empty>") ? "" : value;
+                loadOpeningBook();
+            }
+        } catch (NumberFormatException e) {
+            send("info string bad value for option " + name + ": " + value);
+        } catch (IOException | IllegalArgumentException e) {
+            send("info string cannot load opening book: " + e.getMessage());
+        }
+    }
+
+    private void loadOpeningBook() throws IOException {
+        if (bookFile.isEmpty()) {
+            openingBook = OpeningBook.defaultBook();
+        } else if (random64File.isEmpty()) {
+            openingBook = OpeningBook.open(Path.of(bookFile));
+        } else {
+            openingBook = OpeningBook.open(Path.of(bookFile), PolyglotKey.load(Path.of(random64File)));
+        }
+        ai.setOpeningBook(openingBook);
+    }
+
+    // position [startpos | fen <fen>] [moves <move1> ... <movei>]
+    private void setPosition(String[] tokens) {
+        String fen = tokens.length > 1 && tokens[1].equals("fen") ? valueOf(tokens, "fen", "moves") : Fen.START_POSITION;
+        ChessBoard newBoard;
+        try {
+            newBoard = Fen.parse(fen);
+        } catch (IllegalArgumentException e) {
+            send("info string " + e.getMessage());
+            return;
+        }
+        int[] moves = new int[ChessBoard.MAX_MOVES];
+        for (int i = indexOf(tokens, "moves") + 1; i > 0 && i < tokens.length; i++) {
+            int move = findMove(newBoard, moves, tokens[i]);
+            if (move == PackedMove.NONE) {
+                send("info string illegal move " + tokens[i]);
+                break;
+            }
+            newBoard.makeMove(move);
+        }
+        board = newBoard;
+    }
+
+    private static int findMove(ChessBoard board, int[] moves, String uci) {
+        int count = board.generateMoves(board.isWhiteToMove(), moves);
+        for (int i = 0; i < count; i++) {
+            if (PackedMove.toUci(moves[i]).equals(uci)) {
+                return moves[i];
+            }
+        }
+        return PackedMove.NONE;
+    }
+
+    // go [depth d] [nodes n] [movetime ms] [wtime ms] [btime ms] [winc ms] [binc ms] [movestogo n] [infinite] [ponder]
+    private void go(String[] tokens) {
+        int depth = 0;
+        long nodes = 0;
+        long moveTime = 0;
+        long[] time = new long[2];      // [0] white, [1] black
+        long[] increment = new long[2];
+        int movesToGo = 0;
+        boolean infinite = false;
+        boolean ponder = false;
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                switch (tokens[i]) {
+                    case "depth": depth = Integer.parseInt(tokens[++i]); break;
+                    case "nodes": nodes = Long.parseLong(tokens[++i]); break;
+                    case "movetime": moveTime = Long.parseLong(tokens[++i]); break;
+                    case "wtime": time[0] = Long.parseLong(tokens[++i]); break;
+                    case "btime": time[1] = Long.parseLong(tokens[++i]); break;
+                    case "winc": increment[0] = Long.parseLong(tokens[++i]); break;
+                    case "binc": increment[1] = Long.parseLong(tokens[++i]); break;
+                    case "movestogo": movesToGo = Integer.parseInt(tokens[++i]); break;
+                    case "infinite": infinite = true; break;
+                    case "ponder": ponder = true; break;
+                    default: break;
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            send("info string bad go command");
+            return;
+        }
+        boolean isWhite = board.isWhiteToMove();
+        int side = isWhite ? 0 : 1;
+        if (moveTime == 0 && time[side] > 0) {
+            moveTime = allocateTime(time[side], increment[side], movesToGo);
+        }
+
+        // A ponder search runs without a clock until "ponderhit" starts it
+        SearchLimits limits = new SearchLimits(depth, nodes, infinite || ponder ? 0 : moveTime);
+        ponderMoveTime = ponder ? moveTime : 0;
+        synchronized (this) {
+            holdBestMove = infinite || ponder;
+        }
+        searchIsWhite = isWhite;
+        ai.prepareSearch();
+        ChessBoard searchBoard = board;
+        searchThread = new Thread(() -> search(searchBoard, isWhite, limits), "uci-search");
+        searchThread.start();
+    }
+
+    // A share of the remaining time plus most of the increment, never running the clock down to the overhead
+    private static long allocateTime(long time, long increment, int movesToGo) {
+        long budget = time / (movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO) + increment * 3 / 4;
+        return Math.max(1, Math.min(budget, time - MOVE_OVERHEAD_MS));
+    }
+
+    private void search(ChessBoard searchBoard, boolean isWhite, SearchLimits limits) {
+        Move bestMove = ai.findBestMove(searchBoard, isWhite, limits);
+        List<Move> pv = ai.getPrincipalVariation();
+        synchronized (this) {
+            while (holdBestMove) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        if (bestMove == null) {
+            send("bestmove 0000");
+        } else if (pv.size() > 1 && pv.get(0).equals(bestMove)) {
+            send("bestmove " + PackedMove.toUci(bestMove.toPacked()) + " ponder " + PackedMove.toUci(pv.get(1).toPacked()));
+        } else {
+            send("bestmove " + PackedMove.toUci(bestMove.toPacked()));
+        }
+    }
+
+    // The opponent played the expected move: keep searching, now against the clock
+    private void ponderHit() {
+        releaseBestMove();
+        if (ponderMoveTime > 0 && searchThread != null && searchThread.isAlive()) {
+            stopTimer = timer.schedule(ai::stop, ponderMoveTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Ends the running search, if any, and waits until it has sent its bestmove
+    private void stopSearch() {
+        if (stopTimer != null) {
+            stopTimer.cancel(false);
+            stopTimer = null;
+        }
+        if (searchThread == null) {
+            return;
+        }
+        ai.stop();
+        releaseBestMove();
+        try {
+            searchThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchThread = null;
+    }
+
+    private synchronized void releaseBestMove() {
+        holdBestMove = false;
+        notifyAll();
+    }
+
+    // info depth <d> score cp <x> | mate <y> nodes <n> nps <n> time <ms> pv <move1> ... <movei>
+    private void sendInfo(int depth, int score, long nodes, long elapsedMillis, int[] pv) {
+        StringBuilder line = new StringBuilder("info depth ").append(depth);
+        appendScore(line, score, searchIsWhite);
+        line.append(" nodes ").append(nodes)
+                .append(" nps ").append(nodes * 1000 / Math.max(1, elapsedMillis))
+                .append(" time ").append(elapsedMillis);
+        appendPv(line, pv);
+        send(line.toString());
+    }
+
+    // " score cp <x>" or " score mate <y>"; the search scores from white's side, UCI from the side to move
+    static void appendScore(StringBuilder line, int score, boolean isWhite) {
+        int sign = isWhite ? 1 : -1;
+        int mateIn = ChessAI.mateIn(score);
+        if (mateIn != 0) {
+            line.append(" score mate ").append(sign * mateIn);
+        } else {
+            line.append(" score cp ").append(sign * score);
+        }
+    }
+
+    static void appendPv(StringBuilder line, int[] pv) {
+        line.append(" pv");
+        for (int move : pv) {
+            line.append(' ').append(PackedMove.toUci(move));
+        }
+    }
+
+    // Lines from the search thread and the command thread must not interleave
+    private synchronized void send(String line) {
+        out.println(line);
+        out.flush();
+    }
+
+    // The words after key up to the next stop word (or the end), joined by spaces; "" if key is missing
+    private static String valueOf(String[] tokens, String key, String stopWord) {
+        int start = indexOf(tokens, key);
+        if (start < 0) {
+            return "";
+        }
+        StringBuilder value = new StringBuilder();
+        for (int i = start + 1; i < tokens.length && !tokens[i].equals(stopWord); i++) {
+            value.append(value.length() > 0 ? " " : "").append(tokens[i]);
+        }
+        return value.toString();
+    }
+
+    private static int indexOf(String[] tokens, String key) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
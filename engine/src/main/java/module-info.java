@@ -0,0 +1,6 @@
+// The engine is headless: it must not require java.desktop or anything else beyond java.base
+module chessbot.engine {
+    exports AI;
+    exports Model;
+    exports Uci;
+}
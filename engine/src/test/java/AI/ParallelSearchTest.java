@@ -0,0 +1,52 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import Model.ChessBoard;
+import Model.Fen;
+import Model.Move;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// However the tasks are scheduled, the same search must give the same move, score and line
+class ParallelSearchTest {
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1; 5",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10; 5",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1; 7",
+    })
+    void repeatedSearchesAgree(String fen, int depth) {
+        ParallelSearch parallelSearch = new ParallelSearch(4);
+        try {
+            Result first = search(parallelSearch, fen, depth);
+            for (int i = 0; i < 3; i++) {
+                Result next = search(parallelSearch, fen, depth);
+                assertEquals(first.move, next.move, fen);
+                assertEquals(first.score, next.score, fen);
+                assertArrayEquals(first.pv, next.pv, fen);
+            }
+            assertEquals(first.move, Move.fromPacked(first.pv[0]).toString(), fen);
+        } finally {
+            parallelSearch.shutdown();
+        }
+    }
+
+    private static Result search(ParallelSearch parallelSearch, String fen, int depth) {
+        Result result = new Result();
+        parallelSearch.setSearchListener((d, score, nodes, elapsedMillis, pv) -> {
+            result.score = score;
+            result.pv = pv;
+        });
+        ChessBoard board = Fen.parse(fen);
+        result.move = parallelSearch.findBestMove(board, board.isWhiteToMove(), depth).toString();
+        return result;
+    }
+
+    private static final class Result {
+        private String move;
+        private int score;
+        private int[] pv;
+    }
+}
@@ -0,0 +1,34 @@
+package Model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// The six reference positions of Perft, at depths that run in seconds. "Perft -verify" checks the deeper counts.
+class PerftTest {
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1; 4; 197281",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1; 3; 97862",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1; 5; 674624",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1; 4; 422333",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8; 3; 62379",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10; 3; 89890",
+    })
+    void referencePositions(String fen, int depth, long nodes) {
+        ChessBoard board = Fen.parse(fen);
+        assertEquals(nodes, new Perft(depth, 0).perft(board, depth), fen);
+        // Making and unmaking every move must leave the position as it was
+        assertEquals(fen, Fen.toFen(board));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1; 5; 4865609",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1; 4; 4085603",
+    })
+    void hashedCountsMatch(String fen, int depth, long nodes) {
+        assertEquals(nodes, new Perft(depth, 16).perft(Fen.parse(fen), depth), fen);
+    }
+}
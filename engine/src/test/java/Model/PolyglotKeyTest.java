@@ -0,0 +1,43 @@
+package Model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// The example keys published with the Polyglot book format
+class PolyglotKeyTest {
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "; 463b96181691fc9c",
+            "e2e4; 823c9b50fd114196",
+            "e2e4 d7d5; 0756b94461c50fb0",
+            "e2e4 d7d5 e4e5; 662fafb965db29d4",
+            "e2e4 d7d5 e4e5 f7f5; 22a48b5a8e47ff78",
+            "e2e4 d7d5 e4e5 f7f5 e1e2; 652a607ca3f242c1",
+            "e2e4 d7d5 e4e5 f7f5 e1e2 e8f7; 00fdd303c946bdd9",
+            "a2a4 b7b5 h2h4 b5b4 c2c4; 3c8123ea7b067637",
+            "a2a4 b7b5 h2h4 b5b4 c2c4 b4c3 a1a3; 5c3f9b829b279560",
+    })
+    void referenceKeys(String moves, String key) {
+        ChessBoard board = Fen.parse(Fen.START_POSITION);
+        if (moves != null) {
+            for (String uci : moves.split(" ")) {
+                play(board, uci);
+            }
+        }
+        assertEquals(Long.parseUnsignedLong(key, 16), PolyglotKey.STANDARD.applyAsLong(board), moves);
+    }
+
+    private static void play(ChessBoard board, String uci) {
+        int[] moves = new int[ChessBoard.MAX_MOVES];
+        int count = board.generateMoves(board.isWhiteToMove(), moves);
+        for (int i = 0; i < count; i++) {
+            if (PackedMove.toUci(moves[i]).equals(uci)) {
+                board.makeMove(moves[i]);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Illegal move " + uci);
+    }
+}